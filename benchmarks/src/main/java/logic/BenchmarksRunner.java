@@ -0,0 +1,25 @@
+package logic;
+
+import org.openjdk.jmh.Main;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Runs JMH with the regular command line options, writing JSON results to jmh-result.json unless another result
+// format or file is requested
+public class BenchmarksRunner {
+
+    public static void main(String[] args) throws Exception {
+        List<String> arguments = new ArrayList<>(Arrays.asList(args));
+
+        if (!arguments.contains("-rf")) {
+            arguments.addAll(Arrays.asList("-rf", "json"));
+        }
+        if (!arguments.contains("-rff")) {
+            arguments.addAll(Arrays.asList("-rff", "jmh-result.json"));
+        }
+
+        Main.main(arguments.toArray(new String[0]));
+    }
+}
@@ -0,0 +1,52 @@
+package logic;
+
+import entity.DescribedEntity;
+import entity.EntityDetailDescription;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class EntityParserBenchmark {
+
+    @Param({"0", "3", "20"})
+    public int paramsCount;
+
+    private String source;
+    private int javadocEndIndex;
+    private DescribedEntity describedEntity;
+
+    @Setup
+    public void setUp() {
+        String javadoc = "    /**\n     * Javadoc\n     */\n";
+        source = javadoc + "    @Deprecated\n    @SuppressWarnings(\"unchecked\")\n    "
+                + SyntheticSources.signature(paramsCount) + " {\n        return null;\n    }\n";
+        javadocEndIndex = javadoc.indexOf("*/") + 2;
+        describedEntity = EntityParser.getDescribedEntity(javadocEndIndex, source);
+    }
+
+    @Benchmark
+    public DescribedEntity getDescribedEntity() {
+        return EntityParser.getDescribedEntity(javadocEndIndex, source);
+    }
+
+    @Benchmark
+    public EntityDetailDescription getEntityDetailDescription() {
+        return EntityParser.getEntityDetailDescription(describedEntity);
+    }
+}
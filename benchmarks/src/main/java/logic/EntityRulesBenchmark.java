@@ -0,0 +1,65 @@
+package logic;
+
+import entity.DescribedEntity;
+import entity.MethodDescription;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class EntityRulesBenchmark {
+
+    @Param({"1", "5", "20"})
+    public int paramsCount;
+
+    private final JavadocFixingHandler fixingHandler = new JavadocFixingHandler();
+    private String javadoc;
+    private DescribedEntity describedEntity;
+    private MethodDescription methodDescription;
+
+    @Setup
+    public void setUp() {
+        javadoc = SyntheticSources.javadoc(4, paramsCount);
+
+        describedEntity = new DescribedEntity();
+        describedEntity.setPresent(true);
+        describedEntity.setType(DescribedEntity.Type.METHOD);
+        describedEntity.setData(SyntheticSources.signature(paramsCount));
+        methodDescription = (MethodDescription) EntityParser.getEntityDetailDescription(describedEntity);
+    }
+
+    @Benchmark
+    public String fixJavadocBasedOnDescribedEntity() {
+        return fixingHandler.fixJavadocBasedOnDescribedEntity(javadoc, describedEntity);
+    }
+
+    @Benchmark
+    public String fixParamStatements() {
+        return fixingHandler.fixParamStatements(javadoc, methodDescription);
+    }
+
+    @Benchmark
+    public String fixThrowsStatements() {
+        return fixingHandler.fixThrowsStatements(javadoc, methodDescription);
+    }
+
+    @Benchmark
+    public String fixReturnStatements() {
+        return fixingHandler.fixReturnStatements(javadoc, methodDescription);
+    }
+}
@@ -0,0 +1,54 @@
+package logic;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class FileFixingBenchmark {
+
+    @Param({"1", "100", "2000"})
+    public int methodsCount;
+
+    @Param({"4", "40"})
+    public int descriptionLinesCount;
+
+    private final JavadocFixingHandler fixingHandler = new JavadocFixingHandler();
+    private final StreamingJavadocFixer streamingFixer = new StreamingJavadocFixer(fixingHandler);
+    private String source;
+
+    @Setup
+    public void setUp() {
+        source = SyntheticSources.sourceFile(methodsCount, descriptionLinesCount);
+    }
+
+    @Benchmark
+    public String fixJavadocSyntaxProblems() {
+        return fixingHandler.fixJavadocSyntaxProblems(source);
+    }
+
+    @Benchmark
+    public String fixStreaming() throws IOException {
+        StringWriter output = new StringWriter(source.length());
+        streamingFixer.fix(new StringReader(source), output);
+        return output.toString();
+    }
+}
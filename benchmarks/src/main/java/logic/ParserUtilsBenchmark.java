@@ -0,0 +1,48 @@
+package logic;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ParserUtilsBenchmark {
+
+    @Param({"1", "5", "20"})
+    public int paramsCount;
+
+    private String signature;
+    private String[] signatureParts;
+
+    @Setup
+    public void setUp() {
+        signature = SyntheticSources.signature(paramsCount);
+        signatureParts = String.join(", ", SyntheticSources.params(paramsCount)).split(",");
+    }
+
+    @Benchmark
+    public List<entity.Param> parseParams() {
+        return EntityParser.parseParams(signature);
+    }
+
+    @Benchmark
+    public List<String> completeGenerics() {
+        // completeGenerics merges the parts in place, so every invocation gets its own copy
+        return ParserUtils.completeGenerics(signatureParts.clone());
+    }
+}
@@ -0,0 +1,70 @@
+package logic;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SyntaxRulesBenchmark {
+
+    @Param({"4", "40", "400"})
+    public int descriptionLinesCount;
+
+    private final JavadocFixingHandler fixingHandler = new JavadocFixingHandler();
+    private String javadoc;
+
+    @Setup
+    public void setUp() {
+        javadoc = SyntheticSources.javadoc(descriptionLinesCount, 3);
+    }
+
+    @Benchmark
+    public String fixJavadocBasedOnSyntaxRequirements() {
+        return fixingHandler.fixJavadocBasedOnSyntaxRequirements(javadoc);
+    }
+
+    @Benchmark
+    public String fixIncompleteTags() {
+        return fixingHandler.fixIncompleteTags(javadoc);
+    }
+
+    @Benchmark
+    public String fixBadUseOfAngleBrackets() {
+        return fixingHandler.fixBadUseOfAngleBrackets(javadoc);
+    }
+
+    @Benchmark
+    public String fixAmpersands() {
+        return fixingHandler.fixAmpersands(javadoc);
+    }
+
+    @Benchmark
+    public String fixGenerics() {
+        return fixingHandler.fixGenerics(javadoc);
+    }
+
+    @Benchmark
+    public String fixSelfEnclosingAndEmptyTags() {
+        return fixingHandler.fixSelfEnclosingAndEmptyTags(javadoc);
+    }
+
+    @Benchmark
+    public String fixSelfInventedAnnotations() {
+        return fixingHandler.fixSelfInventedAnnotations(javadoc);
+    }
+}
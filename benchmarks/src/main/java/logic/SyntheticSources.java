@@ -0,0 +1,81 @@
+package logic;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Generates sources which exercise every fixing rule, so the benchmarks can scale inputs from a few lines
+// to huge generated files
+final class SyntheticSources {
+
+    private static final String[] DESCRIPTION_LINES = {
+            "     * Returns a & b when x > y and y <= z -> result\n",
+            "     * Uses Map<String, Integer> and List<String> values\n",
+            "     * {@link Collection<String>} and {@code Set<Long>}\n",
+            "     * <code>Optional<String></code> <p/> <br/> <b></b>\n",
+            "     * &lt;element> in &lt;complexType>\n",
+            "     * @custom annotation and <a href=\"mailto:me@example.com\">me</a>\n",
+            "     * @see List<String>#add(Object)\n",
+            "     * Plain description text without any special characters\n"
+    };
+
+    private SyntheticSources() {
+    }
+
+    static String javadoc(int descriptionLinesCount, int paramsCount) {
+        StringBuilder javadoc = new StringBuilder("/**\n");
+
+        for (int i = 0; i < descriptionLinesCount; i++) {
+            javadoc.append(DESCRIPTION_LINES[i % DESCRIPTION_LINES.length]);
+        }
+        for (int i = 0; i < paramsCount; i++) {
+            javadoc.append(i % 2 == 0 ? "     * @param p" + i + " - described parameter\n" : "     * @param (p" + i + ")\n");
+        }
+        javadoc.append("     * @param removed - not existing parameter\n");
+        javadoc.append("     * @throws IOException\n");
+        javadoc.append("     * @return\n");
+
+        return javadoc.append("     */").toString();
+    }
+
+    static List<String> params(int paramsCount) {
+        List<String> params = new ArrayList<>();
+
+        for (int i = 0; i < paramsCount; i++) {
+            switch (i % 4) {
+                case 0:
+                    params.add("Map<String, List<Integer>> p" + i);
+                    break;
+                case 1:
+                    params.add("final int p" + i);
+                    break;
+                case 2:
+                    params.add("List<Map<Integer, Class<?>>> p" + i);
+                    break;
+                default:
+                    params.add("String p" + i);
+            }
+        }
+
+        return params;
+    }
+
+    static String signature(int paramsCount) {
+        return "public Map<String, List<Integer>> method(" + String.join(", ", params(paramsCount))
+                + ") throws IOException, SQLException";
+    }
+
+    static String sourceFile(int methodsCount, int descriptionLinesCount) {
+        StringBuilder source = new StringBuilder("package generated;\n\npublic class Generated {\n\n");
+
+        for (int i = 0; i < methodsCount; i++) {
+            int paramsCount = i % 6;
+            source.append("    ").append(javadoc(descriptionLinesCount, paramsCount)).append('\n')
+                    .append("    @Deprecated\n")
+                    .append("    ").append(signature(paramsCount)).append(" {\n")
+                    .append("        return null;\n")
+                    .append("    }\n\n");
+        }
+
+        return source.append("}\n").toString();
+    }
+}
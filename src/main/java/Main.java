@@ -1,60 +1,161 @@
+import config.RunConfiguration;
+import fileHandler.FileContentHandler;
+import fileHandler.FingerprintCache;
+import fileHandler.GitChangedFilesResolver;
 import fileHandler.SourceFilesResolver;
+import fileHandler.SourceTreeWatcher;
+import logic.FilesFixingExecutor;
 import logic.JavadocFixingHandler;
-import logic.Utils;
+import metrics.MetricsRegistry;
+import metrics.RunReportWriter;
 
 import java.io.File;
 import java.util.List;
 import java.util.Scanner;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 public class Main {
 
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
     public static void main(String[] args) {
-        Scanner scanner = new Scanner(System.in);
-        System.out.print("Directory location: ");
-        String directoryLocation = scanner.nextLine();
+        RunConfiguration configuration = RunConfiguration.fromArgs(args);
+        String directoryLocation = configuration.getDirectoryLocation();
 
-        List<File> files = SourceFilesResolver.getFilesFromDirectory(directoryLocation);
-        List<File> sourceFiles = Utils.filterFilesByExtension(files, "java");
+        if (directoryLocation == null) {
+            Scanner scanner = new Scanner(System.in);
+            System.out.print("Directory location: ");
+            directoryLocation = scanner.nextLine();
+        }
 
-        System.out.println("Files found: " + sourceFiles.size());
-        System.out.println("------------------------------------");
-        sourceFiles.forEach(System.out::println);
-        System.out.println("------------------------------------");
+        MetricsRegistry metrics = configuration.getMetricsDirectory() != null ? new MetricsRegistry() : null;
+        JavadocFixingHandler fixingHandler = new JavadocFixingHandler(configuration.getDisabledRules(), metrics,
+                configuration.isStreaming());
+        FingerprintCache fingerprintCache = configuration.isIncremental()
+                ? FingerprintCache.load(new File(directoryLocation),
+                JavadocFixingHandler.rulesVersion(configuration.getDisabledRules()))
+                : null;
 
-        fixFiles(sourceFiles);
-    }
+        RunReportWriter reportWriter = configuration.getReportFile() != null
+                ? new RunReportWriter(new File(configuration.getReportFile()))
+                : null;
+
+        FilesFixingExecutor fixingExecutor = new FilesFixingExecutor(configuration, fixingHandler, fingerprintCache,
+                reportWriter);
 
-    private static void fixFiles(List<File> sourceFiles) {
-        JavadocFixingHandler fixingHandler = new JavadocFixingHandler();
-        for (int i = 0; i < sourceFiles.size(); i++) {
-            fixingHandler.fix(sourceFiles.get(i));
-            drawProgressBar(i, sourceFiles.size());
+        if (configuration.isWatch()) {
+            watchFiles(directoryLocation, configuration, fixingExecutor,
+                    () -> saveState(configuration, fingerprintCache, metrics, reportWriter));
+            return;
+        }
+
+        try (Stream<File> sourceFiles = getSourceFiles(directoryLocation, configuration)) {
+            fixFiles(sourceFiles, fixingExecutor);
+
+            // Only the changed files are seen when the run is limited to a git ref
+            if (fingerprintCache != null && configuration.getGitRef() == null) {
+                fingerprintCache.pruneUnseen();
+            }
+        } finally {
+            saveState(configuration, fingerprintCache, metrics, reportWriter);
         }
     }
 
-    private static void drawProgressBar(int fileNumber, int filesCount) {
-        int progressPercent = (int) Math.round(((double) (fileNumber + 1) / filesCount) * 100);
-        int progressBarLength = 40;
-        boolean bracketNotShown = true;
+    private static Stream<File> getSourceFiles(String directoryLocation, RunConfiguration configuration) {
+        if (configuration.getGitRef() != null) {
+            return GitChangedFilesResolver.getChangedFiles(directoryLocation, configuration.getGitRef(), "java",
+                    configuration.getSkippedDirectories());
+        }
+        return SourceFilesResolver.getSourceFiles(directoryLocation, "java", configuration.getSkippedDirectories());
+    }
 
-        System.out.print("\r" + progressPercent + "%   [");
+    // Watch mode is stopped with Ctrl+C. The shutdown hook stops the watcher and waits for the batch which is being
+    // fixed, so the state is saved only after the batch is done with the report writer and the cache.
+    private static void watchFiles(String directoryLocation, RunConfiguration configuration,
+                                   FilesFixingExecutor fixingExecutor, Runnable stateSaver) {
+        try (SourceTreeWatcher watcher = new SourceTreeWatcher(directoryLocation, "java",
+                configuration.getSkippedDirectories())) {
+            CountDownLatch watchEnded = new CountDownLatch(1);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                watcher.stop();
+                awaitBatch(watchEnded);
+                stateSaver.run();
+            }));
+            System.out.println("Watching " + directoryLocation + " for changes");
 
-        for (int i = 0; i < progressBarLength; i++) {
-            if (i < ((double) progressBarLength / 100) * progressPercent) {
-                System.out.print("=");
-                continue;
+            try {
+                watcher.watch(changedFiles -> {
+                    try {
+                        int fixedFilesCount = fixingExecutor.fixFiles(changedFiles.stream(), processedFilesCount -> {
+                        });
+                        System.out.println("Files changed: " + changedFiles.size() + ", fixed: " + fixedFilesCount);
+                        printSkippedFiles(fixingExecutor);
+                    } catch (RuntimeException e) {
+                        e.printStackTrace();
+                    }
+                });
+            } finally {
+                watchEnded.countDown();
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
 
-            if (bracketNotShown) {
-                System.out.print(">");
-                bracketNotShown = false;
-                continue;
+    private static void awaitBatch(CountDownLatch watchEnded) {
+        try {
+            if (!watchEnded.await(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                System.out.println("Files are still being fixed, the state is saved without them");
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
 
-            System.out.print(" ");
+    private static void saveState(RunConfiguration configuration, FingerprintCache fingerprintCache,
+                                  MetricsRegistry metrics, RunReportWriter reportWriter) {
+        if (fingerprintCache != null) {
+            fingerprintCache.save();
+        }
+        if (metrics != null) {
+            metrics.export(new File(configuration.getMetricsDirectory()));
         }
+        if (reportWriter != null) {
+            reportWriter.close();
+        }
+    }
+
+    private static void fixFiles(Stream<File> sourceFiles, FilesFixingExecutor fixingExecutor) {
+        int fixedFilesCount = fixingExecutor.fixFiles(sourceFiles, Main::drawProgress);
+
+        System.out.println();
+        System.out.println("------------------------------------");
+        System.out.println("Files fixed: " + fixedFilesCount);
+        printSkippedFiles(fixingExecutor);
+    }
+
+    private static void printSkippedFiles(FilesFixingExecutor fixingExecutor) {
+        printFiles("Files timed out and left untouched: ", fixingExecutor.getTimedOutFiles());
+        printFiles("Files not valid in " + FileContentHandler.DEFAULT_CHARSET + " and left untouched: ",
+                fixingExecutor.getUndecodableFiles());
+        printFiles("Files not written and left untouched: ", fixingExecutor.getUnwritableFiles());
+    }
+
+    private static void printFiles(String title, List<File> files) {
+        if (files.isEmpty()) {
+            return;
+        }
+
+        System.out.println(title + files.size());
+        for (File file : files) {
+            System.out.println("    " + file.getPath());
+        }
+    }
 
-        System.out.print("]  ");
+    private static void drawProgress(int processedFilesCount) {
+        System.out.print("\rFiles processed: " + processedFilesCount);
     }
 
 }
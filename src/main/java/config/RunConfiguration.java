@@ -0,0 +1,228 @@
+package config;
+
+import fileHandler.SourceFilesResolver;
+
+import java.util.HashSet;
+import java.util.Set;
+
+public class RunConfiguration {
+    private static final String WORKERS_OPTION = "--workers=";
+    private static final String SKIP_DIRECTORY_OPTION = "--skip-dir=";
+    private static final String INCREMENTAL_OPTION = "--incremental";
+    private static final String METRICS_DIRECTORY_OPTION = "--metrics-dir=";
+    private static final String DISABLE_RULE_OPTION = "--disable-rule=";
+    private static final String WATCH_OPTION = "--watch";
+    private static final String GIT_REF_OPTION = "--git-ref=";
+    private static final String STREAMING_OPTION = "--streaming";
+    private static final String FILE_TIMEOUT_OPTION = "--file-timeout=";
+    private static final String REPORT_OPTION = "--report=";
+    private static final String PIPELINE_OPTION = "--pipeline";
+    private static final String MEMORY_BUDGET_OPTION = "--memory-budget=";
+
+    private String directoryLocation;
+    private int workersCount = Runtime.getRuntime().availableProcessors();
+    private Set<String> skippedDirectories = new HashSet<>(SourceFilesResolver.DEFAULT_SKIPPED_DIRECTORIES);
+    private boolean incremental;
+    private String metricsDirectory;
+    private Set<String> disabledRules = new HashSet<>();
+    private boolean watch;
+    private String gitRef;
+    private boolean streaming;
+    private long fileTimeoutMillis;
+    private String reportFile;
+    private boolean pipelined;
+    private long memoryBudgetBytes;
+
+    public static RunConfiguration fromArgs(String[] args) {
+        RunConfiguration configuration = new RunConfiguration();
+
+        for (String arg : args) {
+            if (arg.startsWith(WORKERS_OPTION)) {
+                configuration.setWorkersCount(parsePositiveInt(arg, WORKERS_OPTION));
+                continue;
+            }
+
+            if (arg.startsWith(SKIP_DIRECTORY_OPTION)) {
+                configuration.getSkippedDirectories().add(arg.substring(SKIP_DIRECTORY_OPTION.length()));
+                continue;
+            }
+
+            if (arg.equals(INCREMENTAL_OPTION)) {
+                configuration.setIncremental(true);
+                continue;
+            }
+
+            if (arg.startsWith(METRICS_DIRECTORY_OPTION)) {
+                configuration.setMetricsDirectory(arg.substring(METRICS_DIRECTORY_OPTION.length()));
+                continue;
+            }
+
+            if (arg.startsWith(DISABLE_RULE_OPTION)) {
+                configuration.getDisabledRules().add(arg.substring(DISABLE_RULE_OPTION.length()));
+                continue;
+            }
+
+            if (arg.equals(WATCH_OPTION)) {
+                configuration.setWatch(true);
+                continue;
+            }
+
+            if (arg.startsWith(GIT_REF_OPTION)) {
+                configuration.setGitRef(arg.substring(GIT_REF_OPTION.length()));
+                continue;
+            }
+
+            if (arg.equals(STREAMING_OPTION)) {
+                configuration.setStreaming(true);
+                continue;
+            }
+
+            if (arg.startsWith(FILE_TIMEOUT_OPTION)) {
+                configuration.setFileTimeoutMillis(parsePositiveInt(arg, FILE_TIMEOUT_OPTION));
+                continue;
+            }
+
+            if (arg.startsWith(REPORT_OPTION)) {
+                configuration.setReportFile(arg.substring(REPORT_OPTION.length()));
+                continue;
+            }
+
+            if (arg.equals(PIPELINE_OPTION)) {
+                configuration.setPipelined(true);
+                continue;
+            }
+
+            if (arg.startsWith(MEMORY_BUDGET_OPTION)) {
+                configuration.setMemoryBudgetBytes((long) parsePositiveInt(arg, MEMORY_BUDGET_OPTION) << 20);
+                continue;
+            }
+
+            if (arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+
+            configuration.setDirectoryLocation(arg);
+        }
+
+        return configuration;
+    }
+
+    private static int parsePositiveInt(String arg, String option) {
+        try {
+            int value = Integer.parseInt(arg.substring(option.length()));
+            if (value > 0) {
+                return value;
+            }
+        } catch (NumberFormatException ignored) {
+        }
+        throw new IllegalArgumentException("Positive number expected: " + arg);
+    }
+
+    public String getDirectoryLocation() {
+        return directoryLocation;
+    }
+
+    public void setDirectoryLocation(String directoryLocation) {
+        this.directoryLocation = directoryLocation;
+    }
+
+    public int getWorkersCount() {
+        return workersCount;
+    }
+
+    public void setWorkersCount(int workersCount) {
+        this.workersCount = workersCount;
+    }
+
+    public Set<String> getSkippedDirectories() {
+        return skippedDirectories;
+    }
+
+    public void setSkippedDirectories(Set<String> skippedDirectories) {
+        this.skippedDirectories = skippedDirectories;
+    }
+
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    public void setIncremental(boolean incremental) {
+        this.incremental = incremental;
+    }
+
+    public String getMetricsDirectory() {
+        return metricsDirectory;
+    }
+
+    public void setMetricsDirectory(String metricsDirectory) {
+        this.metricsDirectory = metricsDirectory;
+    }
+
+    public Set<String> getDisabledRules() {
+        return disabledRules;
+    }
+
+    public void setDisabledRules(Set<String> disabledRules) {
+        this.disabledRules = disabledRules;
+    }
+
+    public boolean isWatch() {
+        return watch;
+    }
+
+    public void setWatch(boolean watch) {
+        this.watch = watch;
+    }
+
+    public String getGitRef() {
+        return gitRef;
+    }
+
+    public void setGitRef(String gitRef) {
+        this.gitRef = gitRef;
+    }
+
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    public void setStreaming(boolean streaming) {
+        this.streaming = streaming;
+    }
+
+    // Per-file time budget in milliseconds, 0 means no budget
+    public long getFileTimeoutMillis() {
+        return fileTimeoutMillis;
+    }
+
+    public void setFileTimeoutMillis(long fileTimeoutMillis) {
+        this.fileTimeoutMillis = fileTimeoutMillis;
+    }
+
+    // File of the JSON-lines report with a line per processed file
+    public String getReportFile() {
+        return reportFile;
+    }
+
+    public void setReportFile(String reportFile) {
+        this.reportFile = reportFile;
+    }
+
+    // Files are read and written on I/O threads while the workers fix others, ignored in the streaming mode
+    public boolean isPipelined() {
+        return pipelined;
+    }
+
+    public void setPipelined(boolean pipelined) {
+        this.pipelined = pipelined;
+    }
+
+    // Budget of the files fixed at the same time, given in megabytes, 0 means a half of the heap
+    public long getMemoryBudgetBytes() {
+        return memoryBudgetBytes;
+    }
+
+    public void setMemoryBudgetBytes(long memoryBudgetBytes) {
+        this.memoryBudgetBytes = memoryBudgetBytes;
+    }
+}
@@ -4,6 +4,8 @@ public class DescribedEntity {
     private boolean isPresent;
     private Type type;
     private String data;
+    private String name;
+    private EntityDetailDescription detailDescription;
 
     public boolean isPresent() {
         return isPresent;
@@ -29,6 +31,24 @@ public class DescribedEntity {
         this.data = data;
     }
 
+    // Name of the method, constructor or field, null for other entities
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    // Params, thrown exceptions and return type parsed together with the type, null if the entity wasn't classified
+    public EntityDetailDescription getDetailDescription() {
+        return detailDescription;
+    }
+
+    public void setDetailDescription(EntityDetailDescription detailDescription) {
+        this.detailDescription = detailDescription;
+    }
+
     public enum Type {
         METHOD, CLASS, INTERFACE, FIELD, CONSTRUCTOR, ANOTHER
     }
@@ -3,15 +3,15 @@ package entity;
 import java.util.List;
 
 public class EntityDetailDescription {
-    private List<String> params;
+    private List<Param> params;
     private List<String> exceptionsThrown;
     private boolean present;
 
-    public List<String> getParams() {
+    public List<Param> getParams() {
         return params;
     }
 
-    public void setParams(List<String> params) {
+    public void setParams(List<Param> params) {
         this.params = params;
     }
 
@@ -0,0 +1,64 @@
+package entity;
+
+import java.util.Objects;
+
+// Parameter of a method or a constructor as it is declared: the "final" modifier is not a part of the type, varargs
+// keep their "..."
+public class Param {
+    private final String type;
+    private final String name;
+    private final boolean finalModifier;
+
+    public Param(String type, String name) {
+        this(type, name, false);
+    }
+
+    public Param(String type, String name, boolean finalModifier) {
+        this.type = type;
+        this.name = name;
+        this.finalModifier = finalModifier;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isFinal() {
+        return finalModifier;
+    }
+
+    public boolean isVarargs() {
+        return type.endsWith("...");
+    }
+
+    // Type of a single argument, the same as the type for not varargs
+    public String getElementType() {
+        return isVarargs() ? type.substring(0, type.length() - 3) : type;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        Param param = (Param) o;
+        return finalModifier == param.finalModifier && type.equals(param.type) && name.equals(param.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, name, finalModifier);
+    }
+
+    @Override
+    public String toString() {
+        return (finalModifier ? "final " : "") + type + " " + name;
+    }
+}
@@ -0,0 +1,103 @@
+package entity;
+
+import java.util.List;
+import java.util.Objects;
+
+// Replacement of the chars [offset, offset + length) of a text
+public class TextEdit {
+    private final int offset;
+    private final int length;
+    private final String replacement;
+
+    public TextEdit(int offset, int length, String replacement) {
+        if (offset < 0 || length < 0) {
+            throw new IllegalArgumentException("Offset and length should not be negative");
+        }
+        this.offset = offset;
+        this.length = length;
+        this.replacement = replacement;
+    }
+
+    // The smallest edit which turns the original part of the text starting at the offset into the replacement
+    public static TextEdit between(int offset, String original, String replacement) {
+        int maxCommonLength = Math.min(original.length(), replacement.length());
+        int prefix = 0;
+        while (prefix < maxCommonLength && original.charAt(prefix) == replacement.charAt(prefix)) {
+            prefix++;
+        }
+
+        int suffix = 0;
+        while (suffix < maxCommonLength - prefix && original.charAt(original.length() - 1 - suffix)
+                == replacement.charAt(replacement.length() - 1 - suffix)) {
+            suffix++;
+        }
+
+        return new TextEdit(offset + prefix, original.length() - prefix - suffix,
+                replacement.substring(prefix, replacement.length() - suffix));
+    }
+
+    // Edits should be sorted by offset and should not overlap, the text is copied once
+    public static String apply(String text, List<TextEdit> edits) {
+        if (edits.isEmpty()) {
+            return text;
+        }
+
+        int resultLength = text.length();
+        int previousEnd = 0;
+        for (TextEdit edit : edits) {
+            if (edit.getOffset() < previousEnd || edit.getEnd() > text.length()) {
+                throw new IllegalArgumentException("Edit " + edit + " overlaps others or is out of the text");
+            }
+            resultLength += edit.getReplacement().length() - edit.getLength();
+            previousEnd = edit.getEnd();
+        }
+
+        StringBuilder result = new StringBuilder(resultLength);
+        int copiedUntil = 0;
+
+        for (TextEdit edit : edits) {
+            result.append(text, copiedUntil, edit.getOffset()).append(edit.getReplacement());
+            copiedUntil = edit.getEnd();
+        }
+
+        return result.append(text, copiedUntil, text.length()).toString();
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    public int getEnd() {
+        return offset + length;
+    }
+
+    public String getReplacement() {
+        return replacement;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        TextEdit textEdit = (TextEdit) o;
+        return offset == textEdit.offset && length == textEdit.length && replacement.equals(textEdit.replacement);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(offset, length, replacement);
+    }
+
+    @Override
+    public String toString() {
+        return "TextEdit{offset=" + offset + ", length=" + length + ", replacement='" + replacement + "'}";
+    }
+}
@@ -1,36 +1,214 @@
 package fileHandler;
 
+import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.util.Scanner;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.util.function.IntFunction;
 
 public class FileContentHandler {
 
+    public static final Charset DEFAULT_CHARSET = StandardCharsets.UTF_8;
+
+    // Bigger files are read into buffers of their own which are dropped after the file, so the pooled buffers of a
+    // thread never hold more than this after a huge file
+    private static final int MAX_POOLED_BUFFER_SIZE = 1 << 20;
+
+    private static final int INITIAL_BUFFER_SIZE = 64 << 10;
+
+    private static final ThreadLocal<ByteBuffer> BYTE_BUFFERS =
+            ThreadLocal.withInitial(() -> ByteBuffer.allocate(INITIAL_BUFFER_SIZE));
+    private static final ThreadLocal<CharBuffer> CHAR_BUFFERS =
+            ThreadLocal.withInitial(() -> CharBuffer.allocate(INITIAL_BUFFER_SIZE));
+
+    public interface ContentWriter {
+        void writeTo(Writer writer) throws IOException;
+    }
+
+    private interface TemporaryFileWriter {
+        void write(Path temporaryFile) throws IOException;
+    }
+
     public static String getFileContent(File file) {
-        Scanner sc = null;
-        try {
-            sc = new Scanner(file);
-        } catch (FileNotFoundException e) {
+        return getFileContent(file, DEFAULT_CHARSET);
+    }
+
+    public static String getFileContent(File file, Charset charset) {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+
+            if (size > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException(file + " - is too big");
+            }
+
+            // Files are read through the channel, a mapping would stay alive until it is garbage collected and
+            // would keep the replaced file on disk or locked on Windows
+            ByteBuffer bytes = readFully(channel, pooledBuffer(BYTE_BUFFERS, (int) size, ByteBuffer::allocate));
+
+            return decode(bytes, charset);
+        } catch (NoSuchFileException e) {
             throw new IllegalArgumentException("File not found");
+        } catch (CharacterCodingException e) {
+            throw new UndecodableFileException(file, charset);
+        } catch (IOException e) {
+            throw new IllegalArgumentException(file + " - can't be read: " + e.getMessage());
         }
+    }
 
-        StringBuilder fileContent = new StringBuilder();
-        while (sc.hasNextLine()) {
-            fileContent.append(sc.nextLine()).append("\n");
-        }
+    // Decodes the file while it is read, malformed input is reported with a CharacterCodingException
+    public static Reader getFileReader(File file) throws IOException {
+        return getFileReader(file, DEFAULT_CHARSET);
+    }
 
-        return fileContent.toString();
+    public static Reader getFileReader(File file, Charset charset) throws IOException {
+        CharsetDecoder decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+        return new InputStreamReader(Files.newInputStream(file.toPath()), decoder);
     }
 
     public static void rewriteFile(File file, String newContent) {
+        rewriteFile(file, newContent, DEFAULT_CHARSET);
+    }
+
+    // The content is written to a temporary file next to the target which then replaces it, so readers never see
+    // a partially written source. When the writing fails, the target is kept as is and UnwritableFileException is
+    // thrown.
+    public static void rewriteFile(File file, String newContent, Charset charset) {
+        replaceFile(file, temporaryFile -> {
+            try (FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.WRITE)) {
+                ByteBuffer bytes = ByteBuffer.wrap(newContent.getBytes(charset));
+                while (bytes.hasRemaining()) {
+                    channel.write(bytes);
+                }
+            }
+        });
+    }
+
+    public static void rewriteFile(File file, ContentWriter contentWriter) {
+        rewriteFile(file, contentWriter, DEFAULT_CHARSET);
+    }
+
+    // Same as the rewrite with the whole content, but the content is produced while it is written
+    public static void rewriteFile(File file, ContentWriter contentWriter, Charset charset) {
+        replaceFile(file, temporaryFile -> {
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                    Files.newOutputStream(temporaryFile, StandardOpenOption.WRITE), charset))) {
+                contentWriter.writeTo(writer);
+            }
+        });
+    }
+
+    private static void replaceFile(File file, TemporaryFileWriter temporaryFileWriter) {
+        Path target = file.toPath().toAbsolutePath();
+        Path temporaryFile = null;
+
         try {
-            FileWriter writer = new FileWriter(file, false);
-            writer.write(newContent);
-            writer.close();
+            temporaryFile = Files.createTempFile(target.getParent(), "." + file.getName(), ".tmp");
+            copyPermissions(target, temporaryFile);
+
+            temporaryFileWriter.write(temporaryFile);
+
+            try {
+                Files.move(temporaryFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporaryFile, target, StandardCopyOption.REPLACE_EXISTING);
+            }
         } catch (IOException e) {
-            e.printStackTrace();
+            deleteQuietly(temporaryFile);
+            throw new UnwritableFileException(file, e.getMessage());
+        } catch (RuntimeException e) {
+            // Content writers may fail on their own, the original file is kept as is then
+            deleteQuietly(temporaryFile);
+            throw e;
+        }
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+            // Reading until the buffer sized by the file is filled
+        }
+        // Calls go through Buffer, so the classes built by a newer JDK still run on Java 8
+        ((Buffer) buffer).flip();
+        return buffer;
+    }
+
+    private static String decode(ByteBuffer bytes, Charset charset) throws CharacterCodingException {
+        CharsetDecoder decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+        int maxLength = (int) Math.min(Integer.MAX_VALUE,
+                (long) Math.ceil(bytes.remaining() * (double) decoder.maxCharsPerByte()));
+        CharBuffer chars = pooledBuffer(CHAR_BUFFERS, maxLength, CharBuffer::allocate);
+
+        CoderResult result = decoder.decode(bytes, chars, true);
+        if (!result.isUnderflow()) {
+            result.throwException();
+        }
+        result = decoder.flush(chars);
+        if (!result.isUnderflow()) {
+            result.throwException();
+        }
+
+        ((Buffer) chars).flip();
+        return chars.toString();
+    }
+
+    private static <T extends Buffer> T pooledBuffer(ThreadLocal<T> pool, int size, IntFunction<T> allocator) {
+        T buffer = pool.get();
+
+        if (size > MAX_POOLED_BUFFER_SIZE) {
+            buffer = allocator.apply(size);
+        } else if (buffer.capacity() < size) {
+            buffer = allocator.apply(size);
+            pool.set(buffer);
+        }
+
+        buffer.clear();
+        buffer.limit(size);
+        return buffer;
+    }
+
+    private static void copyPermissions(Path source, Path target) throws IOException {
+        if (!Files.exists(source)) {
+            return;
+        }
+
+        PosixFileAttributeView sourceAttributes = Files.getFileAttributeView(source, PosixFileAttributeView.class);
+        PosixFileAttributeView targetAttributes = Files.getFileAttributeView(target, PosixFileAttributeView.class);
+
+        if (sourceAttributes != null && targetAttributes != null) {
+            targetAttributes.setPermissions(sourceAttributes.readAttributes().permissions());
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
         }
     }
 }
@@ -0,0 +1,180 @@
+package fileHandler;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Remembers files which were already fixed, so unchanged files are skipped on the next run without being read.
+// The cache is dropped as a whole when the tool or the fixing rules version changes.
+public class FingerprintCache {
+
+    public static final String CACHE_FILE_NAME = ".javadoc-fixing-tool.cache";
+
+    private static final String VERSION_HEADER = "version=";
+
+    private final Path rootDirectory;
+    private final String version;
+    private final Map<String, Fingerprint> fingerprints = new ConcurrentHashMap<>();
+    // Files checked or updated since the cache was loaded
+    private final Set<String> seenPaths = ConcurrentHashMap.newKeySet();
+
+    private FingerprintCache(Path rootDirectory, String version) {
+        this.rootDirectory = rootDirectory;
+        this.version = version;
+    }
+
+    public static FingerprintCache load(File rootDirectory, String rulesVersion) {
+        FingerprintCache cache = new FingerprintCache(rootDirectory.toPath(), toolVersion() + "/" + rulesVersion);
+        Path cacheFile = cache.getCacheFile();
+
+        if (!Files.isRegularFile(cacheFile)) {
+            return cache;
+        }
+
+        try (BufferedReader reader = Files.newBufferedReader(cacheFile, StandardCharsets.UTF_8)) {
+            if (!(VERSION_HEADER + cache.version).equals(reader.readLine())) {
+                return cache;
+            }
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.split("\t", 4);
+                if (parts.length == 4) {
+                    cache.fingerprints.put(parts[3],
+                            new Fingerprint(Long.parseLong(parts[0]), Long.parseLong(parts[1]), parts[2]));
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // A broken cache only costs one full run
+            cache.fingerprints.clear();
+        }
+
+        return cache;
+    }
+
+    public boolean isUpToDate(File file) {
+        seenPaths.add(relativePath(file));
+        Fingerprint cached = fingerprints.get(relativePath(file));
+
+        if (cached == null || cached.size != file.length()) {
+            return false;
+        }
+
+        if (cached.lastModified == file.lastModified()) {
+            return true;
+        }
+
+        // Touched, but possibly not changed (e.g. by a checkout), so the content decides
+        Fingerprint actual = fingerprintOf(file);
+        if (actual != null && actual.hash.equals(cached.hash)) {
+            fingerprints.put(relativePath(file), actual);
+            return true;
+        }
+        return false;
+    }
+
+    public void update(File file) {
+        seenPaths.add(relativePath(file));
+        Fingerprint fingerprint = fingerprintOf(file);
+
+        if (fingerprint != null) {
+            fingerprints.put(relativePath(file), fingerprint);
+        }
+    }
+
+    // Drops the files which were not seen since the cache was loaded, e.g. deleted or moved ones. Only a run over all
+    // the source files sees every file which is still there.
+    public void pruneUnseen() {
+        fingerprints.keySet().retainAll(seenPaths);
+    }
+
+    public void save() {
+        Path cacheFile = getCacheFile();
+        Path temporaryFile = cacheFile.resolveSibling(CACHE_FILE_NAME + ".tmp");
+
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(temporaryFile, StandardCharsets.UTF_8)) {
+                writer.write(VERSION_HEADER + version);
+                writer.newLine();
+
+                for (Map.Entry<String, Fingerprint> entry : fingerprints.entrySet()) {
+                    Fingerprint fingerprint = entry.getValue();
+                    writer.write(fingerprint.lastModified + "\t" + fingerprint.size + "\t" + fingerprint.hash
+                            + "\t" + entry.getKey());
+                    writer.newLine();
+                }
+            }
+            Files.move(temporaryFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    public Path getCacheFile() {
+        return rootDirectory.resolve(CACHE_FILE_NAME);
+    }
+
+    private String relativePath(File file) {
+        return rootDirectory.relativize(file.toPath()).toString();
+    }
+
+    private static Fingerprint fingerprintOf(File file) {
+        try {
+            long lastModified = file.lastModified();
+            byte[] content = Files.readAllBytes(file.toPath());
+            return new Fingerprint(lastModified, content.length, hash(content));
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static String hash(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            StringBuilder hash = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hash.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hash.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toolVersion() {
+        Properties properties = new Properties();
+
+        try (InputStream inputStream = FingerprintCache.class.getResourceAsStream("/javadoc-fixing-tool.properties")) {
+            if (inputStream != null) {
+                properties.load(inputStream);
+            }
+        } catch (IOException ignored) {
+        }
+
+        return properties.getProperty("version", "unknown");
+    }
+
+    private static class Fingerprint {
+        private final long lastModified;
+        private final long size;
+        private final String hash;
+
+        Fingerprint(long lastModified, long size, String hash) {
+            this.lastModified = lastModified;
+            this.size = size;
+            this.hash = hash;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package fileHandler;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+// Resolves the source files which were changed relative to a git ref, so a check of a branch scales with the size
+// of its diff rather than with the size of the repository.
+public class GitChangedFilesResolver {
+
+    // Changes are taken relative to the merge base, so the commits which got to the ref after the branch was
+    // started are not reported. Staged, not staged and untracked (but not ignored) files are reported as well;
+    // deleted files are not.
+    public static Stream<File> getChangedFiles(String directoryPath, String ref, String fileExtension,
+                                               Set<String> skippedDirectories) {
+        File directory = new File(directoryPath);
+
+        if (!directory.exists()) {
+            throw new IllegalArgumentException("Incorrect directory path provided");
+        }
+
+        if (!directory.isDirectory()) {
+            throw new IllegalArgumentException(directoryPath + " - is not a directory");
+        }
+
+        Path root = toRealPath(directory);
+        Path repositoryRoot = toRealPath(new File(runGit(root, "rev-parse", "--show-toplevel").trim()));
+        String mergeBase = runGit(repositoryRoot, "merge-base", ref, "HEAD").trim();
+
+        Set<String> changedPaths = new TreeSet<>();
+        changedPaths.addAll(splitPaths(runGit(repositoryRoot,
+                "diff", "--name-only", "-z", "--no-renames", "--diff-filter=d", mergeBase, "--")));
+        changedPaths.addAll(splitPaths(runGit(repositoryRoot,
+                "ls-files", "--others", "--exclude-standard", "-z")));
+
+        String fileSuffix = "." + fileExtension;
+        List<File> changedFiles = new ArrayList<>();
+
+        for (String changedPath : changedPaths) {
+            Path path = repositoryRoot.resolve(changedPath);
+
+            if (path.startsWith(root) && changedPath.endsWith(fileSuffix)
+                    && !isInSkippedDirectory(root, root.relativize(path), skippedDirectories)
+                    && path.toFile().isFile()) {
+                changedFiles.add(path.toFile());
+            }
+        }
+
+        return changedFiles.stream();
+    }
+
+    private static boolean isInSkippedDirectory(Path root, Path relativePath, Set<String> skippedDirectories) {
+        Path directory = root;
+        for (int i = 0; i < relativePath.getNameCount() - 1; i++) {
+            directory = directory.resolve(relativePath.getName(i));
+            if (SourceFilesResolver.isSkippedDirectory(directory, root, skippedDirectories)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<String> splitPaths(String output) {
+        List<String> paths = new ArrayList<>(Arrays.asList(output.split("\0")));
+        paths.removeIf(String::isEmpty);
+        return paths;
+    }
+
+    private static Path toRealPath(File file) {
+        try {
+            return file.toPath().toRealPath();
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Incorrect directory path provided", e);
+        }
+    }
+
+    private static String runGit(Path workingDirectory, String... args) {
+        List<String> command = new ArrayList<>();
+        command.add("git");
+        command.addAll(Arrays.asList(args));
+
+        try {
+            // Git explains failures on stderr, so it is shown to the user as is
+            Process process = new ProcessBuilder(command)
+                    .directory(workingDirectory.toFile())
+                    .redirectError(ProcessBuilder.Redirect.INHERIT)
+                    .start();
+            process.getOutputStream().close();
+
+            String output = readFully(process.getInputStream());
+            int exitCode = process.waitFor();
+
+            if (exitCode != 0) {
+                throw new IllegalStateException(String.join(" ", command) + " failed with exit code " + exitCode);
+            }
+            return output;
+        } catch (IOException e) {
+            throw new IllegalStateException("Can not run " + String.join(" ", command), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(String.join(" ", command) + " was interrupted", e);
+        }
+    }
+
+    private static String readFully(InputStream inputStream) throws IOException {
+        try (InputStream input = inputStream) {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                output.write(buffer, 0, read);
+            }
+            return new String(output.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+}
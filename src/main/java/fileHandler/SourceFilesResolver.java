@@ -1,37 +1,167 @@
 package fileHandler;
 
 import java.io.File;
-import java.util.ArrayList;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class SourceFilesResolver {
 
-    public static List<File> getFilesFromDirectory(String directoryPath) {
-        File root = new File(directoryPath);
+    public static final Set<String> DEFAULT_SKIPPED_DIRECTORIES =
+            Collections.unmodifiableSet(new HashSet<>(Arrays.asList("target", "build", "node_modules")));
 
-        if (!root.exists()) {
+    // Build output directories are skipped only where a build puts them, so sources of packages with the same names
+    // (e.g. com.example.build) are still fixed
+    private static final Set<String> BUILD_OUTPUT_DIRECTORIES =
+            Collections.unmodifiableSet(new HashSet<>(Arrays.asList("target", "build")));
+    private static final List<String> BUILD_FILES = Arrays.asList("pom.xml", "build.gradle", "build.gradle.kts");
+
+    public static Stream<File> getSourceFiles(String directoryPath, String fileExtension) {
+        return getSourceFiles(directoryPath, fileExtension, DEFAULT_SKIPPED_DIRECTORIES);
+    }
+
+    // Walks the directory lazily, so files are handed out as soon as they are found. Hidden directories
+    // (.git, .idea, ...) and directories with the skipped names are pruned without being listed.
+    public static Stream<File> getSourceFiles(String directoryPath, String fileExtension,
+                                              Set<String> skippedDirectories) {
+        return getSourceFiles(new File(directoryPath).toPath(), new File(directoryPath).toPath(), fileExtension,
+                skippedDirectories);
+    }
+
+    // Walks a directory of the source tree with the given root
+    static Stream<File> getSourceFiles(Path directory, Path root, String fileExtension,
+                                       Set<String> skippedDirectories) {
+        File directoryFile = directory.toFile();
+
+        if (!directoryFile.exists()) {
             throw new IllegalArgumentException("Incorrect directory path provided");
         }
 
-        if (!root.isDirectory()) {
-            throw new IllegalArgumentException(directoryPath + " - is not a directory");
+        if (!directoryFile.isDirectory()) {
+            throw new IllegalArgumentException(directory + " - is not a directory");
         }
 
-        List<File> sourceFiles = new ArrayList<>(Arrays.asList(root.listFiles()));
+        SourceFilesIterator iterator = new SourceFilesIterator(directory, root, "." + fileExtension,
+                skippedDirectories);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator,
+                Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.DISTINCT), false)
+                .onClose(iterator::close);
+    }
 
-        int iterationsCount = sourceFiles.size();
-        for (int i = 0; i < iterationsCount; i++) {
-            File file = sourceFiles.get(i);
+    // Hidden directories and directories with the skipped names are skipped at any depth, except the build output
+    // ones, which are skipped only in the root or next to a build file
+    static boolean isSkippedDirectory(Path directory, Path root, Set<String> skippedDirectories) {
+        String name = directory.getFileName().toString();
 
-            File[] innerFiles = file.listFiles();
+        if (name.startsWith(".")) {
+            return true;
+        }
+        if (!skippedDirectories.contains(name)) {
+            return false;
+        }
+        if (!BUILD_OUTPUT_DIRECTORIES.contains(name)) {
+            return true;
+        }
 
-            if (innerFiles != null) {
-                sourceFiles.addAll(Arrays.asList(innerFiles));
-                iterationsCount += innerFiles.length;
+        Path parent = directory.getParent();
+        if (parent == null || parent.equals(root)) {
+            return true;
+        }
+        for (String buildFile : BUILD_FILES) {
+            if (Files.isRegularFile(parent.resolve(buildFile))) {
+                return true;
             }
         }
+        return false;
+    }
+
+    private static class SourceFilesIterator implements Iterator<File> {
+        private final Path root;
+        private final String fileSuffix;
+        private final Set<String> skippedDirectories;
+        private final Deque<DirectoryStream<Path>> openedDirectories = new ArrayDeque<>();
+        private final Deque<Iterator<Path>> directoryIterators = new ArrayDeque<>();
+        private File next;
+
+        SourceFilesIterator(Path directory, Path root, String fileSuffix, Set<String> skippedDirectories) {
+            this.root = root;
+            this.fileSuffix = fileSuffix;
+            this.skippedDirectories = skippedDirectories;
+            openDirectory(directory);
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && !directoryIterators.isEmpty()) {
+                Iterator<Path> currentDirectory = directoryIterators.peek();
+
+                if (!currentDirectory.hasNext()) {
+                    closeCurrentDirectory();
+                    continue;
+                }
 
-        return sourceFiles;
+                Path path = currentDirectory.next();
+                String name = path.getFileName().toString();
+
+                if (Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS)) {
+                    if (!isSkippedDirectory(path, root, skippedDirectories)) {
+                        openDirectory(path);
+                    }
+                } else if (name.endsWith(fileSuffix) && Files.isRegularFile(path)) {
+                    next = path.toFile();
+                }
+            }
+
+            return next != null;
+        }
+
+        @Override
+        public File next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            File file = next;
+            next = null;
+            return file;
+        }
+
+        void close() {
+            while (!openedDirectories.isEmpty()) {
+                closeCurrentDirectory();
+            }
+        }
+
+        private void openDirectory(Path directory) {
+            try {
+                DirectoryStream<Path> directoryStream = Files.newDirectoryStream(directory);
+                openedDirectories.push(directoryStream);
+                directoryIterators.push(directoryStream.iterator());
+            } catch (IOException ignored) {
+                // Not readable directories are skipped the same way as empty ones
+            }
+        }
+
+        private void closeCurrentDirectory() {
+            directoryIterators.pop();
+            try {
+                openedDirectories.pop().close();
+            } catch (IOException ignored) {
+            }
+        }
     }
 }
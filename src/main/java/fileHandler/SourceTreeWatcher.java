@@ -0,0 +1,227 @@
+package fileHandler;
+
+import custom.VisibleForTesting;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+// Watches a source tree for created and modified files. Events are collected until the tree stays quiet for
+// the debounce period, so a burst of saves or a checkout is handed out as one batch.
+public class SourceTreeWatcher implements Closeable {
+    public static final long DEFAULT_DEBOUNCE_MILLIS = 200;
+
+    // A tree which never gets quiet is still handed out after this number of debounce periods
+    private static final int MAX_DEBOUNCE_PERIODS = 10;
+
+    private final Path root;
+    private final String fileExtension;
+    private final Set<String> skippedDirectories;
+    private final long debounceMillis;
+    private final WatchService watchService;
+    private final Map<WatchKey, Path> watchedDirectories = new HashMap<>();
+    private final Map<Path, Long> ownModifications = new HashMap<>();
+    private volatile boolean stopped;
+
+    public SourceTreeWatcher(String directoryPath, String fileExtension, Set<String> skippedDirectories) {
+        this(directoryPath, fileExtension, skippedDirectories, DEFAULT_DEBOUNCE_MILLIS);
+    }
+
+    public SourceTreeWatcher(String directoryPath, String fileExtension, Set<String> skippedDirectories,
+                             long debounceMillis) {
+        File rootDirectory = new File(directoryPath);
+
+        if (!rootDirectory.exists()) {
+            throw new IllegalArgumentException("Incorrect directory path provided");
+        }
+
+        if (!rootDirectory.isDirectory()) {
+            throw new IllegalArgumentException(directoryPath + " - is not a directory");
+        }
+
+        this.root = rootDirectory.toPath();
+        this.fileExtension = fileExtension;
+        this.skippedDirectories = skippedDirectories;
+        this.debounceMillis = debounceMillis;
+
+        try {
+            this.watchService = FileSystems.getDefault().newWatchService();
+            registerTree(root);
+        } catch (IOException e) {
+            throw new IllegalStateException("Can not watch " + directoryPath, e);
+        }
+    }
+
+    // Hands out batches of changed files until the watcher is stopped or the thread is interrupted. Files rewritten
+    // by the consumer are not handed out again, unless they are changed once more.
+    public void watch(Consumer<List<File>> changedFilesConsumer) throws InterruptedException {
+        while (!stopped) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new InterruptedException();
+            }
+            try {
+                processChanges(changedFilesConsumer);
+            } catch (ClosedWatchServiceException e) {
+                if (!stopped) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    // Makes watch return once the batch which is being consumed is done, may be called from any thread
+    public void stop() {
+        stopped = true;
+        close();
+    }
+
+    @VisibleForTesting
+    void processChanges(Consumer<List<File>> changedFilesConsumer) throws InterruptedException {
+        List<File> changedFiles = awaitChanges();
+        Map<File, Long> modifiedTimes = new LinkedHashMap<>();
+        changedFiles.forEach(file -> modifiedTimes.put(file, file.lastModified()));
+
+        changedFilesConsumer.accept(changedFiles);
+
+        modifiedTimes.forEach((file, modifiedTime) -> {
+            long currentModifiedTime = file.lastModified();
+            if (currentModifiedTime != modifiedTime) {
+                ownModifications.put(file.toPath(), currentModifiedTime);
+            }
+        });
+    }
+
+    @VisibleForTesting
+    List<File> awaitChanges() throws InterruptedException {
+        Set<Path> changedPaths = new LinkedHashSet<>();
+
+        while (true) {
+            WatchKey key = watchService.take();
+            long deadline = System.currentTimeMillis() + debounceMillis * MAX_DEBOUNCE_PERIODS;
+
+            while (key != null) {
+                collectChanges(key, changedPaths);
+
+                long timeLeft = deadline - System.currentTimeMillis();
+                key = timeLeft > 0
+                        ? watchService.poll(Math.min(debounceMillis, timeLeft), TimeUnit.MILLISECONDS)
+                        : null;
+            }
+
+            List<File> changedFiles = new ArrayList<>();
+            for (Path path : changedPaths) {
+                if (Files.isRegularFile(path) && !isOwnModification(path)) {
+                    changedFiles.add(path.toFile());
+                }
+            }
+
+            if (!changedFiles.isEmpty()) {
+                return changedFiles;
+            }
+            changedPaths.clear();
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void collectChanges(WatchKey key, Set<Path> changedPaths) {
+        Path directory = watchedDirectories.get(key);
+
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW || directory == null) {
+                // Events are lost, so everything is treated as changed
+                addSourceFiles(root, changedPaths);
+                continue;
+            }
+
+            Path path = directory.resolve((Path) event.context());
+            String name = path.getFileName().toString();
+
+            if (Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS)) {
+                if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE
+                        && !SourceFilesResolver.isSkippedDirectory(path, root, skippedDirectories)) {
+                    // Files could be created before the directory is registered
+                    registerTree(path);
+                    addSourceFiles(path, changedPaths);
+                }
+            } else if (name.endsWith("." + fileExtension)) {
+                changedPaths.add(path);
+            }
+        }
+
+        if (!key.reset()) {
+            watchedDirectories.remove(key);
+        }
+    }
+
+    // Rewrite may raise several events, so it is remembered until the file is changed by someone else
+    private boolean isOwnModification(Path path) {
+        Long ownModifiedTime = ownModifications.get(path);
+
+        if (ownModifiedTime != null && ownModifiedTime == path.toFile().lastModified()) {
+            return true;
+        }
+        ownModifications.remove(path);
+        return false;
+    }
+
+    private void addSourceFiles(Path directory, Set<Path> changedPaths) {
+        try (Stream<File> sourceFiles = SourceFilesResolver.getSourceFiles(directory, root, fileExtension,
+                skippedDirectories)) {
+            sourceFiles.forEach(file -> changedPaths.add(file.toPath()));
+        }
+    }
+
+    private void registerTree(Path directory) {
+        try {
+            Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path path, BasicFileAttributes attributes) throws IOException {
+                    if (!path.equals(root) && SourceFilesResolver.isSkippedDirectory(path, root, skippedDirectories)) {
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+                    WatchKey key = path.register(watchService,
+                            StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+                    watchedDirectories.put(key, path);
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path path, IOException e) {
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
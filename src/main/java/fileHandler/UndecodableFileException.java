@@ -0,0 +1,22 @@
+package fileHandler;
+
+import java.io.File;
+import java.nio.charset.Charset;
+
+// Thrown when the file content is not valid in the charset it is read with. The file is left untouched, so other
+// files are still fixed.
+public class UndecodableFileException extends IllegalArgumentException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final File file;
+
+    public UndecodableFileException(File file, Charset charset) {
+        super(file + " - is not a valid " + charset + " file");
+        this.file = file;
+    }
+
+    public File getFile() {
+        return file;
+    }
+}
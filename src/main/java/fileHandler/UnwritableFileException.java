@@ -0,0 +1,21 @@
+package fileHandler;
+
+import java.io.File;
+
+// Thrown when the fixed content can't be written to the file. The file is left as it was, so other files are still
+// fixed.
+public class UnwritableFileException extends IllegalArgumentException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final File file;
+
+    public UnwritableFileException(File file, String reason) {
+        super(file + " - can't be written: " + reason);
+        this.file = file;
+    }
+
+    public File getFile() {
+        return file;
+    }
+}
@@ -0,0 +1,366 @@
+package logic;
+
+import entity.ConstructorDescription;
+import entity.DescribedEntity;
+import entity.EntityDetailDescription;
+import entity.MethodDescription;
+import entity.Param;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static logic.ParserUtils.completeGenerics;
+import static logic.ParserUtils.skipJavaAnnotations;
+import static logic.ParserUtils.skipNewLines;
+
+// Resolves the type of a declaration in linear time. Answers are the same as the ones of the former regexes
+// "[^.]*?[A-Za-z0-9_<>\[\]]+?\s+?[a-z][A-Za-z0-9_<>]*?[(]([^^.]|[.]{3})*?[)][^.]*" for methods,
+// the same with "[^=.]" and "[A-Z]" for constructors and "[^.]*?[A-Za-z0-9_<>]+?\s+?\w+?" for fields,
+// which backtracked badly on long signatures. The return type, the params and the thrown exceptions of methods
+// and constructors are parsed from the landmarks found by the same scan of the declaration.
+final class DeclarationClassifier {
+
+    private DeclarationClassifier() {
+    }
+
+    // Sets the type, the name and the detail description of the entity by its data
+    static void classify(DescribedEntity describedEntity) {
+        String data = describedEntity.getData();
+        Landmarks landmarks = new Landmarks(data);
+
+        int nameEnd = callableNameEnd(data, landmarks, false);
+        if (nameEnd >= 0) {
+            describedEntity.setType(DescribedEntity.Type.METHOD);
+            describedEntity.setName(data.substring(nameStart(data, nameEnd), nameEnd));
+            describedEntity.setDetailDescription(describe(describedEntity, landmarks));
+            return;
+        }
+
+        nameEnd = callableNameEnd(data, landmarks, true);
+        if (nameEnd >= 0) {
+            describedEntity.setType(DescribedEntity.Type.CONSTRUCTOR);
+            describedEntity.setName(data.substring(nameStart(data, nameEnd), nameEnd));
+            describedEntity.setDetailDescription(describe(describedEntity, landmarks));
+            return;
+        }
+
+        if (isField(data, landmarks)) {
+            describedEntity.setType(DescribedEntity.Type.FIELD);
+            describedEntity.setName(data.substring(wordStart(data, data.length())));
+            return;
+        }
+
+        if (data.contains(" class ")) {
+            describedEntity.setType(DescribedEntity.Type.CLASS);
+        } else if (data.contains(" interface ")) {
+            describedEntity.setType(DescribedEntity.Type.INTERFACE);
+        } else {
+            describedEntity.setType(DescribedEntity.Type.ANOTHER);
+        }
+    }
+
+    // Detail description of an entity whose type is already resolved. It is present only for methods and
+    // constructors whose params are found.
+    static EntityDetailDescription describe(DescribedEntity describedEntity) {
+        return describe(describedEntity, new Landmarks(describedEntity.getData()));
+    }
+
+    private static EntityDetailDescription describe(DescribedEntity describedEntity, Landmarks landmarks) {
+        EntityDetailDescription entityDescription = newDetailDescription(describedEntity);
+        entityDescription.setPresent(false);
+
+        if (!(entityDescription instanceof MethodDescription || entityDescription instanceof ConstructorDescription)) {
+            return entityDescription;
+        }
+
+        String signature = describedEntity.getData();
+
+        if (entityDescription instanceof MethodDescription) {
+            String returnType = parseReturnType(signature, landmarks);
+            if (returnType == null) {
+                return entityDescription;
+            }
+            ((MethodDescription) entityDescription).setReturnType(returnType);
+        }
+
+        if (landmarks.paramsEnd < 0) {
+            return entityDescription;
+        }
+        entityDescription.setPresent(true);
+        entityDescription.setParams(parseParams(signature, landmarks.paramsStart, landmarks.paramsEnd));
+        entityDescription.setExceptionsThrown(parseExceptionsThrown(signature, landmarks));
+
+        return entityDescription;
+    }
+
+    private static EntityDetailDescription newDetailDescription(DescribedEntity describedEntity) {
+        if (describedEntity.isPresent()) {
+            if (describedEntity.getType() == DescribedEntity.Type.METHOD) {
+                return new MethodDescription();
+            }
+            if (describedEntity.getType() == DescribedEntity.Type.CONSTRUCTOR) {
+                return new ConstructorDescription();
+            }
+        }
+        return new EntityDetailDescription();
+    }
+
+    // Same as the first find of "[^\\^]*?[(]": the part of the signature up to the first '(' with no '^' in it
+    private static String parseReturnType(String signature, Landmarks landmarks) {
+        if (landmarks.firstOpening < 0) {
+            return null;
+        }
+
+        String beforeParams = signature.substring(landmarks.lastCaretBeforeFirstOpening + 1,
+                landmarks.firstOpening + 1);
+        List<String> beforeParamsParts = completeGenerics(beforeParams.trim().split(" "));
+        return beforeParamsParts.size() >= 2 ? beforeParamsParts.get(beforeParamsParts.size() - 2) : null;
+    }
+
+    // Same as splitting the group by commas which are not inside generics, with the group's parentheses, annotations
+    // and new lines removed. Params are converted while the group is scanned, without intermediate lists.
+    private static List<Param> parseParams(String signature, int groupStart, int groupEnd) {
+        List<Param> params = new ArrayList<>();
+        String declaration = null;
+        int bracketsBalance = 0;
+        boolean firstDeclaration = true;
+        int partStart = groupStart;
+
+        while (true) {
+            int partEnd = signature.indexOf(',', partStart);
+            boolean lastPart = partEnd < 0 || partEnd > groupEnd;
+            String part = signature.substring(partStart, lastPart ? groupEnd + 1 : partEnd);
+
+            declaration = declaration == null
+                    ? part
+                    : declaration + ParserUtils.resolveSeparator(declaration, part) + part.trim();
+            bracketsBalance += ParserUtils.bracketsBalance(part);
+
+            if (bracketsBalance <= 0 || lastPart) {
+                addParam(params, declaration, firstDeclaration, lastPart);
+                firstDeclaration = false;
+                declaration = null;
+                bracketsBalance = 0;
+            }
+
+            if (lastPart) {
+                return params;
+            }
+            partStart = partEnd + 1;
+        }
+    }
+
+    private static void addParam(List<Param> params, String declaration, boolean first, boolean last) {
+        if (first) {
+            declaration = LiteralReplacer.remove(declaration, '(');
+        }
+        if (last) {
+            declaration = LiteralReplacer.remove(declaration, ')');
+        }
+        if (declaration.indexOf('@') >= 0) {
+            declaration = skipJavaAnnotations(declaration);
+        }
+        if (declaration.indexOf('\n') >= 0) {
+            declaration = skipNewLines(declaration);
+        }
+        declaration = declaration.trim();
+
+        if (!declaration.isEmpty()) {
+            Param param = ParserUtils.toParam(declaration);
+            if (param != null) {
+                params.add(param);
+            }
+        }
+    }
+
+    // Same as the first find of "[)][^\\^]*": the part of the signature from the first ')' up to a '^'
+    private static List<String> parseExceptionsThrown(String signature, Landmarks landmarks) {
+        if (landmarks.firstClosing < 0) {
+            return Collections.emptyList();
+        }
+
+        String afterParamsGroup = signature.substring(landmarks.firstClosing,
+                landmarks.firstCaretAfterFirstClosing < 0 ? signature.length() : landmarks.firstCaretAfterFirstClosing);
+        String afterParams = Patterns.CLOSING_PARENTHESIS_OR_COMMA.matcher(afterParamsGroup).replaceAll(" ");
+        List<String> afterParamsFiltered = Arrays.stream(Patterns.WHITESPACE.split(afterParams.trim()))
+                .map(String::trim).filter(s -> !s.equals(""))
+                .collect(Collectors.toList());
+
+        if (!afterParamsFiltered.isEmpty() && afterParamsFiltered.get(0).contains("throws")) {
+            return afterParamsFiltered.subList(1, afterParamsFiltered.size());
+        }
+        return Collections.emptyList();
+    }
+
+    // A callable is "<prefix><type> <name>(<params>)<rest>", where neither the prefix, the type with the name, nor
+    // the rest contain '.', so every '.' has to be in the params, where they are allowed only as "...". The params
+    // can't contain '^'. Returns the index of the '(' after the name, -1 if the data is not a callable.
+    private static int callableNameEnd(String data, Landmarks landmarks, boolean constructor) {
+        int firstDot = landmarks.firstDot;
+        int lastDot = landmarks.lastDot;
+
+        if (firstDot >= 0 && !dotsFormEllipses(data, firstDot, lastDot)) {
+            return -1;
+        }
+
+        // The prefix of a constructor can't contain '=', so object creations are not taken for constructors
+        int prefixEnd = firstDot < 0 ? data.length() : firstDot;
+        if (constructor) {
+            int firstAssignment = landmarks.firstAssignment;
+            prefixEnd = firstAssignment < 0 ? prefixEnd : Math.min(prefixEnd, firstAssignment);
+        }
+
+        int lastOpening = -1;
+        int lastCaret = -1;
+
+        for (int i = 0; i < data.length(); i++) {
+            char c = data.charAt(i);
+
+            if (c == '^') {
+                lastCaret = i;
+            } else if (c == '(' && i < prefixEnd && isCallableName(data, i, constructor)) {
+                lastOpening = i;
+            } else if (c == ')' && i > lastDot && lastOpening > lastCaret) {
+                return lastOpening;
+            }
+        }
+
+        return -1;
+    }
+
+    private static boolean dotsFormEllipses(String data, int firstDot, int lastDot) {
+        int runLength = 0;
+
+        for (int i = firstDot; i <= lastDot + 1; i++) {
+            if (i <= lastDot && data.charAt(i) == '.') {
+                runLength++;
+            } else if (runLength > 0) {
+                if (runLength % 3 != 0) {
+                    return false;
+                }
+                runLength = 0;
+            }
+        }
+
+        return true;
+    }
+
+    // The name before the '(' should follow whitespace which in its turn follows a type char
+    private static boolean isCallableName(String data, int openingIndex, boolean constructor) {
+        int nameStart = nameStart(data, openingIndex);
+
+        if (nameStart == openingIndex) {
+            return false;
+        }
+
+        char first = data.charAt(nameStart);
+        if (constructor ? first < 'A' || first > 'Z' : first < 'a' || first > 'z') {
+            return false;
+        }
+
+        return followsTypeAndWhitespace(data, nameStart, true);
+    }
+
+    // A field is "<prefix><type> <name>" without any '.'
+    private static boolean isField(String data, Landmarks landmarks) {
+        if (landmarks.firstDot >= 0) {
+            return false;
+        }
+
+        int nameStart = wordStart(data, data.length());
+        return nameStart < data.length() && followsTypeAndWhitespace(data, nameStart, false);
+    }
+
+    private static boolean followsTypeAndWhitespace(String data, int nameStart, boolean arrayTypeAllowed) {
+        int i = nameStart - 1;
+
+        if (i < 0 || !isWhitespace(data.charAt(i))) {
+            return false;
+        }
+        while (i >= 0 && isWhitespace(data.charAt(i))) {
+            i--;
+        }
+
+        if (i < 0) {
+            return false;
+        }
+        char c = data.charAt(i);
+        return isNameChar(c) || arrayTypeAllowed && (c == '[' || c == ']');
+    }
+
+    private static int nameStart(String data, int nameEnd) {
+        int i = nameEnd;
+        while (i > 0 && isNameChar(data.charAt(i - 1))) {
+            i--;
+        }
+        return i;
+    }
+
+    private static int wordStart(String data, int wordEnd) {
+        int i = wordEnd;
+        while (i > 0 && isWordChar(data.charAt(i - 1))) {
+            i--;
+        }
+        return i;
+    }
+
+    // [A-Za-z0-9_<>]
+    private static boolean isNameChar(char c) {
+        return isWordChar(c) || c == '<' || c == '>';
+    }
+
+    // \w
+    private static boolean isWordChar(char c) {
+        return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9' || c == '_';
+    }
+
+    // \s
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    // Offsets of the chars the declaration is split by, found in one scan. -1 stands for a missing one.
+    private static final class Landmarks {
+        private int firstDot = -1;
+        private int lastDot = -1;
+        private int firstAssignment = -1;
+        private int firstOpening = -1;
+        private int lastCaretBeforeFirstOpening = -1;
+        private int firstClosing = -1;
+        private int firstCaretAfterFirstClosing = -1;
+        // Same as the first find of "[(][^\\^]*?[)]": the first "(...)" with no '^' in it
+        private int paramsStart = -1;
+        private int paramsEnd = -1;
+
+        private Landmarks(String data) {
+            for (int i = 0; i < data.length(); i++) {
+                char c = data.charAt(i);
+
+                if (c == '.') {
+                    firstDot = firstDot < 0 ? i : firstDot;
+                    lastDot = i;
+                } else if (c == '=') {
+                    firstAssignment = firstAssignment < 0 ? i : firstAssignment;
+                } else if (c == '^') {
+                    lastCaretBeforeFirstOpening = firstOpening < 0 ? i : lastCaretBeforeFirstOpening;
+                    if (firstClosing >= 0 && firstCaretAfterFirstClosing < 0) {
+                        firstCaretAfterFirstClosing = i;
+                    }
+                    // The params group starts over from the next '(' after the caret
+                    if (paramsEnd < 0) {
+                        paramsStart = -1;
+                    }
+                } else if (c == '(') {
+                    firstOpening = firstOpening < 0 ? i : firstOpening;
+                    paramsStart = paramsStart < 0 && paramsEnd < 0 ? i : paramsStart;
+                } else if (c == ')') {
+                    firstClosing = firstClosing < 0 ? i : firstClosing;
+                    paramsEnd = paramsStart >= 0 && paramsEnd < 0 ? i : paramsEnd;
+                }
+            }
+        }
+    }
+}
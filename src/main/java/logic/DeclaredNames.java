@@ -0,0 +1,129 @@
+package logic;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+// Names of the declared params or exceptions, looked up by the words of the javadoc tags, so every tag costs a few
+// hash lookups instead of a regex per declared name. Names which don't start and end with a word char are rare,
+// they are still matched by the regexes.
+final class DeclaredNames {
+
+    private final Map<String, Integer> indexes = new HashMap<>();
+    private final Map<String, Integer> irregularIndexes = new HashMap<>();
+    private int maxLength;
+
+    DeclaredNames(List<String> names) {
+        for (int i = 0; i < names.size(); i++) {
+            String name = names.get(i);
+
+            if (!name.isEmpty() && isWordChar(name.charAt(0)) && isWordChar(name.charAt(name.length() - 1))) {
+                indexes.putIfAbsent(name, i);
+                maxLength = Math.max(maxLength, name.length());
+            } else {
+                irregularIndexes.putIfAbsent(name, i);
+            }
+        }
+    }
+
+    // Names which follow "@<tag>" in the statement after whitespace and '(', the same as the
+    // "[^<]*?@<tag>[\s\(]*?\b<name>\b[\s\)]*?[^<]*" regex matches the statement
+    Set<String> namedAfterTag(String statement, String tag) {
+        if (statement.indexOf('<') >= 0) {
+            return Collections.emptySet();
+        }
+
+        Set<String> result = new HashSet<>();
+        String tagStart = "@" + tag;
+
+        for (int index = statement.indexOf(tagStart); index >= 0; index = statement.indexOf(tagStart, index + 1)) {
+            int nameStart = index + tagStart.length();
+            while (nameStart < statement.length()
+                    && (isWhitespace(statement.charAt(nameStart)) || statement.charAt(nameStart) == '(')) {
+                nameStart++;
+            }
+
+            if (!isWordChar(statement.charAt(nameStart - 1))) {
+                addWordsFrom(statement, nameStart, result);
+            }
+        }
+
+        for (String name : irregularIndexes.keySet()) {
+            if (Patterns.get("[^<]*?" + Pattern.quote(tagStart) + "[\\s\\(]*?\\b" + Pattern.quote(name)
+                    + "\\b[\\s\\)]*?[^<]*").matcher(FileDeadline.guard(statement)).matches()) {
+                result.add(name);
+            }
+        }
+
+        return result;
+    }
+
+    // Names which the text contains as whole words, the same as the "[^<]*\b<name>\b[^<]*" regex matches the text
+    Set<String> containedIn(String text) {
+        if (text.indexOf('<') >= 0) {
+            return Collections.emptySet();
+        }
+
+        Set<String> result = new HashSet<>();
+
+        for (int i = 0; i < text.length(); i++) {
+            if (i == 0 || !isWordChar(text.charAt(i - 1))) {
+                addWordsFrom(text, i, result);
+            }
+        }
+
+        for (String name : irregularIndexes.keySet()) {
+            if (Patterns.get("[^<]*\\b" + Pattern.quote(name) + "\\b[^<]*").matcher(FileDeadline.guard(text))
+                    .matches()) {
+                result.add(name);
+            }
+        }
+
+        return result;
+    }
+
+    // Index of the first declared one of the names, -1 if there are none
+    int firstIndex(Set<String> names) {
+        int result = -1;
+
+        for (String name : names) {
+            Integer index = indexes.containsKey(name) ? indexes.get(name) : irregularIndexes.get(name);
+            if (index != null && (result < 0 || index < result)) {
+                result = index;
+            }
+        }
+
+        return result;
+    }
+
+    // Names which start at the index and end at a word boundary
+    private void addWordsFrom(String text, int start, Set<String> result) {
+        if (start >= text.length() || !isWordChar(text.charAt(start))) {
+            return;
+        }
+
+        int maxEnd = Math.min(text.length(), start + maxLength);
+        for (int end = start + 1; end <= maxEnd; end++) {
+            if (isWordChar(text.charAt(end - 1)) && (end == text.length() || !isWordChar(text.charAt(end)))) {
+                String word = text.substring(start, end);
+                if (indexes.containsKey(word)) {
+                    result.add(word);
+                }
+            }
+        }
+    }
+
+    // Word char of the regex \b
+    private static boolean isWordChar(char c) {
+        return c == '_' || Character.isLetterOrDigit(c);
+    }
+
+    // \s
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+}
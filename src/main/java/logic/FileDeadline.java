@@ -0,0 +1,100 @@
+package logic;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// Time budget of the file fixed by the current thread. A watchdog thread marks the deadline as expired, and the
+// fixing stops on the next check: between rules, or inside a regex matching a guarded text. Nothing is checked
+// when no deadline is started, so runs without a budget pay nothing.
+final class FileDeadline implements AutoCloseable {
+
+    private static final ThreadLocal<FileDeadline> CURRENT = new ThreadLocal<>();
+    private static final ScheduledThreadPoolExecutor WATCHDOG = createWatchdog();
+
+    private final long budgetMillis;
+    private final ScheduledFuture<?> expiration;
+    private volatile boolean expired;
+
+    private FileDeadline(long budgetMillis) {
+        this.budgetMillis = budgetMillis;
+        this.expiration = WATCHDOG.schedule(() -> expired = true, budgetMillis, TimeUnit.MILLISECONDS);
+    }
+
+    static FileDeadline start(long budgetMillis) {
+        if (budgetMillis < 1) {
+            throw new IllegalArgumentException("Time budget should be positive");
+        }
+        FileDeadline deadline = new FileDeadline(budgetMillis);
+        CURRENT.set(deadline);
+        return deadline;
+    }
+
+    static void check() {
+        FileDeadline deadline = CURRENT.get();
+
+        if (deadline != null) {
+            deadline.checkExpired();
+        }
+    }
+
+    // Regexes read the text char by char, so the wrapper stops even a catastrophically backtracking matching
+    static CharSequence guard(CharSequence text) {
+        FileDeadline deadline = CURRENT.get();
+        return deadline == null ? text : new GuardedCharSequence(text, deadline);
+    }
+
+    @Override
+    public void close() {
+        expiration.cancel(false);
+        CURRENT.remove();
+    }
+
+    private void checkExpired() {
+        if (expired) {
+            throw new FileTimeoutException("Fixing took longer than " + budgetMillis + " ms");
+        }
+    }
+
+    private static ScheduledThreadPoolExecutor createWatchdog() {
+        ScheduledThreadPoolExecutor watchdog = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "javadoc-fixing-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Most of the files are fixed in time, so their cancelled expirations should not pile up in the queue
+        watchdog.setRemoveOnCancelPolicy(true);
+        return watchdog;
+    }
+
+    private static final class GuardedCharSequence implements CharSequence {
+        private final CharSequence text;
+        private final FileDeadline deadline;
+
+        GuardedCharSequence(CharSequence text, FileDeadline deadline) {
+            this.text = text;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public int length() {
+            return text.length();
+        }
+
+        @Override
+        public char charAt(int index) {
+            deadline.checkExpired();
+            return text.charAt(index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new GuardedCharSequence(text.subSequence(start, end), deadline);
+        }
+
+        @Override
+        public String toString() {
+            return text.toString();
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package logic;
+
+// Thrown from inside the fixing rules when the time budget of the file is exceeded
+public class FileTimeoutException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public FileTimeoutException(String message) {
+        super(message);
+    }
+}
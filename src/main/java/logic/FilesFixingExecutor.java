@@ -0,0 +1,299 @@
+package logic;
+
+import config.RunConfiguration;
+import fileHandler.FingerprintCache;
+import fileHandler.UndecodableFileException;
+import fileHandler.UnwritableFileException;
+import metrics.FileReport;
+import metrics.RunReportWriter;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+public class FilesFixingExecutor {
+
+    private final JavadocFixingHandler fixingHandler;
+    private final int workersCount;
+    private final FingerprintCache fingerprintCache;
+    private final long fileTimeoutMillis;
+    private final RunReportWriter reportWriter;
+    private final boolean pipelined;
+    // Set only when files are fixed concurrently and their content is held whole
+    private final InFlightBytesBudget bytesBudget;
+    private final List<File> timedOutFiles = Collections.synchronizedList(new ArrayList<>());
+    private final List<File> undecodableFiles = Collections.synchronizedList(new ArrayList<>());
+    private final List<File> unwritableFiles = Collections.synchronizedList(new ArrayList<>());
+
+    public FilesFixingExecutor(int workersCount) {
+        this(workersConfiguration(workersCount), new JavadocFixingHandler(), null, null);
+    }
+
+    // Takes the workers count, the file timeout, the pipelining and the memory budget from the configuration. Files
+    // which are not fixed within the timeout are left untouched and reported by getTimedOutFiles. The fingerprint
+    // cache and the report writer are optional, every processed file is reported to the writer when it is given.
+    // Pipelined executor reads and writes files on I/O threads while the workers only fix them, see
+    // FilesFixingPipeline, it is not used with the streaming fixing handler.
+    public FilesFixingExecutor(RunConfiguration configuration, JavadocFixingHandler fixingHandler,
+                               FingerprintCache fingerprintCache, RunReportWriter reportWriter) {
+        if (configuration.getWorkersCount() < 1) {
+            throw new IllegalArgumentException("Workers count should be positive");
+        }
+        if (configuration.getFileTimeoutMillis() < 0) {
+            throw new IllegalArgumentException("File timeout should not be negative");
+        }
+        if (configuration.getMemoryBudgetBytes() < 0) {
+            throw new IllegalArgumentException("Memory budget should not be negative");
+        }
+        this.workersCount = configuration.getWorkersCount();
+        this.fingerprintCache = fingerprintCache;
+        this.fixingHandler = fixingHandler;
+        this.fileTimeoutMillis = configuration.getFileTimeoutMillis();
+        this.reportWriter = reportWriter;
+        this.pipelined = configuration.isPipelined() && !fixingHandler.isStreaming();
+        this.bytesBudget = createBytesBudget(configuration.getMemoryBudgetBytes());
+    }
+
+    private static RunConfiguration workersConfiguration(int workersCount) {
+        RunConfiguration configuration = new RunConfiguration();
+        configuration.setWorkersCount(workersCount);
+        return configuration;
+    }
+
+    // Only files which are fixed concurrently and held whole wait for the budget, 0 budget means a half of the heap
+    private InFlightBytesBudget createBytesBudget(long memoryBudgetBytes) {
+        if ((workersCount == 1 && !pipelined) || fixingHandler.isStreaming()) {
+            return null;
+        }
+        if (memoryBudgetBytes == 0) {
+            return InFlightBytesBudget.ofHeap();
+        }
+        return new InFlightBytesBudget(memoryBudgetBytes);
+    }
+
+    public int fixFiles(Stream<File> files, IntConsumer progressListener) {
+        timedOutFiles.clear();
+        undecodableFiles.clear();
+        unwritableFiles.clear();
+        if (pipelined) {
+            return new FilesFixingPipeline(this, fixingHandler, workersCount).run(files.iterator(), progressListener);
+        }
+        if (workersCount == 1) {
+            return fixFilesSequentially(files.iterator(), progressListener);
+        }
+        return fixFilesInParallel(files.iterator(), progressListener);
+    }
+
+    private int fixFilesSequentially(Iterator<File> files, IntConsumer progressListener) {
+        int fixedFilesCount = 0;
+        int processedFilesCount = 0;
+        while (files.hasNext()) {
+            if (fixFile(files.next())) {
+                fixedFilesCount++;
+            }
+            progressListener.accept(++processedFilesCount);
+        }
+        return fixedFilesCount;
+    }
+
+    private int fixFilesInParallel(Iterator<File> files, IntConsumer progressListener) {
+        ExecutorService executorService = Executors.newFixedThreadPool(workersCount);
+        MemoryAwareConcurrencyController concurrencyController = new MemoryAwareConcurrencyController(workersCount);
+        AtomicInteger fixedFilesCount = new AtomicInteger();
+        AtomicInteger processedFilesCount = new AtomicInteger();
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+        try {
+            while (files.hasNext() && failure.get() == null) {
+                File file = files.next();
+                concurrencyController.acquire();
+                executorService.execute(() -> {
+                    try {
+                        if (fixFile(file)) {
+                            fixedFilesCount.incrementAndGet();
+                        }
+                        synchronized (progressListener) {
+                            progressListener.accept(processedFilesCount.incrementAndGet());
+                        }
+                    } catch (RuntimeException e) {
+                        failure.compareAndSet(null, e);
+                    } finally {
+                        concurrencyController.release();
+                    }
+                });
+            }
+
+            executorService.shutdown();
+            executorService.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Files fixing was interrupted", e);
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+        return fixedFilesCount.get();
+    }
+
+    // Files which timed out during the last fixFiles call
+    public List<File> getTimedOutFiles() {
+        synchronized (timedOutFiles) {
+            return new ArrayList<>(timedOutFiles);
+        }
+    }
+
+    // Files which were not valid in the charset and were skipped during the last fixFiles call
+    public List<File> getUndecodableFiles() {
+        synchronized (undecodableFiles) {
+            return new ArrayList<>(undecodableFiles);
+        }
+    }
+
+    // Files which could not be written and were left as they were during the last fixFiles call
+    public List<File> getUnwritableFiles() {
+        synchronized (unwritableFiles) {
+            return new ArrayList<>(unwritableFiles);
+        }
+    }
+
+    private boolean fixFile(File file) {
+        FileReport report = newReport(file);
+
+        if (skipCached(file, report)) {
+            return false;
+        }
+
+        boolean fixed;
+        long budgetWeight = acquireBudget(file);
+        try {
+            fixed = withinTimeout(() -> fixingHandler.fix(file, report));
+        } catch (FileTimeoutException e) {
+            timedOut(file, report);
+            return false;
+        } catch (UndecodableFileException e) {
+            undecodable(file, report);
+            return false;
+        } catch (UnwritableFileException e) {
+            unwritable(file, report);
+            return false;
+        } finally {
+            releaseBudget(budgetWeight);
+        }
+
+        fileDone(file, report, fixed);
+        return fixed;
+    }
+
+    // Steps shared by the sequential, the parallel and the pipelined fixing
+    FileReport newReport(File file) {
+        return reportWriter != null ? new FileReport(file) : null;
+    }
+
+    boolean skipCached(File file, FileReport report) {
+        if (fingerprintCache == null || !fingerprintCache.isUpToDate(file)) {
+            return false;
+        }
+        report(report, FileReport.Status.CACHED);
+        return true;
+    }
+
+    // Returns the weight to release once the file is done
+    long acquireBudget(File file) {
+        return acquireBudget(file, () -> false);
+    }
+
+    // Waiting for the budget is given up once the run is cancelled, then 0 is returned
+    long acquireBudget(File file, BooleanSupplier cancelled) {
+        if (bytesBudget == null) {
+            return 0;
+        }
+
+        try {
+            return bytesBudget.acquire(file.length(), cancelled);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Files fixing was interrupted", e);
+        }
+    }
+
+    void releaseBudget(long weight) {
+        if (bytesBudget != null) {
+            bytesBudget.release(weight);
+        }
+    }
+
+    // Files waiting for the budget check whether their run is cancelled
+    void wakeUpBudgetWaiters() {
+        if (bytesBudget != null) {
+            bytesBudget.wakeUp();
+        }
+    }
+
+    <T> T withinTimeout(Supplier<T> fixing) {
+        if (fileTimeoutMillis == 0) {
+            return fixing.get();
+        }
+
+        FileDeadline deadline = FileDeadline.start(fileTimeoutMillis);
+        try {
+            return fixing.get();
+        } finally {
+            deadline.close();
+        }
+    }
+
+    // Timed out files are left untouched and tried again by the next run
+    void timedOut(File file, FileReport report) {
+        timedOutFiles.add(file);
+        if (report != null) {
+            report.resetFixes();
+        }
+        report(report, FileReport.Status.TIMED_OUT);
+    }
+
+    // Undecodable files are left untouched as well, a single one doesn't stop the run
+    void undecodable(File file, FileReport report) {
+        undecodableFiles.add(file);
+        if (report != null) {
+            report.resetFixes();
+        }
+        report(report, FileReport.Status.UNDECODABLE);
+    }
+
+    // Unwritable files keep their old content, so they are not cached and are fixed again by the next run
+    void unwritable(File file, FileReport report) {
+        unwritableFiles.add(file);
+        if (report != null) {
+            report.resetFixes();
+        }
+        report(report, FileReport.Status.UNWRITABLE);
+    }
+
+    void fileDone(File file, FileReport report, boolean fixed) {
+        if (fingerprintCache != null) {
+            fingerprintCache.update(file);
+        }
+        report(report, fixed ? FileReport.Status.FIXED : FileReport.Status.UNCHANGED);
+    }
+
+    private void report(FileReport report, FileReport.Status status) {
+        if (report != null) {
+            report.setStatus(status);
+            reportWriter.write(report);
+        }
+    }
+}
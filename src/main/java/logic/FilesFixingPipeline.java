@@ -0,0 +1,274 @@
+package logic;
+
+import custom.VisibleForTesting;
+import entity.TextEdit;
+import fileHandler.UndecodableFileException;
+import fileHandler.UnwritableFileException;
+import metrics.FileReport;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntConsumer;
+
+// Fixes files in read, fix and write stages connected by bounded queues. Reading and writing run on I/O threads,
+// virtual ones when the JVM has them, and only fixing runs on the workers, so the CPU is busy while files are
+// waited for. A stage which gets ahead of the next one blocks on the full queue, so the number of files held in
+// memory is bounded.
+class FilesFixingPipeline {
+
+    private static final int IO_THREADS_COUNT = 16;
+    private static final int QUEUE_CAPACITY_PER_WORKER = 2;
+    private static final FileTask END = new FileTask(null);
+
+    private final FilesFixingExecutor executor;
+    private final JavadocFixingHandler fixingHandler;
+    private final int workersCount;
+    private final AtomicInteger fixedFilesCount = new AtomicInteger();
+    private final AtomicInteger processedFilesCount = new AtomicInteger();
+    private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+    private final List<Thread> threads = new ArrayList<>();
+    private IntConsumer progressListener;
+
+    FilesFixingPipeline(FilesFixingExecutor executor, JavadocFixingHandler fixingHandler, int workersCount) {
+        this.executor = executor;
+        this.fixingHandler = fixingHandler;
+        this.workersCount = workersCount;
+    }
+
+    int run(Iterator<File> files, IntConsumer progressListener) {
+        this.progressListener = progressListener;
+        int queueCapacity = workersCount * QUEUE_CAPACITY_PER_WORKER;
+        ThreadFactory ioThreadFactory = ioThreadFactory("javadoc-fixing-io");
+
+        Stage writeStage = new Stage(IO_THREADS_COUNT, queueCapacity, null, this::write);
+        Stage fixStage = new Stage(workersCount, queueCapacity, writeStage, this::fix);
+        Stage readStage = new Stage(IO_THREADS_COUNT, queueCapacity, fixStage, this::read);
+
+        writeStage.start(ioThreadFactory);
+        fixStage.start(platformThreadFactory("javadoc-fixing-worker"));
+        readStage.start(ioThreadFactory);
+
+        try {
+            feed(readStage, files);
+            readStage.end();
+
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        } catch (InterruptedException e) {
+            for (Thread thread : threads) {
+                thread.interrupt();
+            }
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Files fixing was interrupted", e);
+        }
+
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+        return fixedFilesCount.get();
+    }
+
+    // Failures of the source files listing stop the run as well, once the files which are already read are done
+    private void feed(Stage readStage, Iterator<File> files) throws InterruptedException {
+        try {
+            while (files.hasNext() && failure.get() == null) {
+                readStage.input.put(new FileTask(files.next()));
+            }
+        } catch (RuntimeException e) {
+            fail(e);
+        }
+    }
+
+    // Readers waiting for the memory budget give up, so the stages end without the budget of the dropped files
+    private void fail(RuntimeException e) {
+        failure.compareAndSet(null, e);
+        executor.wakeUpBudgetWaiters();
+    }
+
+    private FileTask read(FileTask task) {
+        task.report = executor.newReport(task.file);
+
+        if (executor.skipCached(task.file, task.report)) {
+            processed(task, false);
+            return null;
+        }
+
+        // Readers wait here until the content fits into the memory budget
+        task.budgetWeight = executor.acquireBudget(task.file, () -> failure.get() != null);
+        if (failure.get() != null) {
+            releaseBudget(task);
+            return null;
+        }
+        try {
+            task.content = fixingHandler.read(task.file, task.report);
+        } catch (UndecodableFileException e) {
+            executor.undecodable(task.file, task.report);
+            processed(task, false);
+            return null;
+        }
+        return task;
+    }
+
+    // The time budget of a file covers only its fixing, waiting for the disk is not a problem of the file
+    private FileTask fix(FileTask task) {
+        try {
+            task.edits = executor.withinTimeout(() -> fixingHandler.computeEdits(task.content, task.report));
+        } catch (FileTimeoutException e) {
+            executor.timedOut(task.file, task.report);
+            processed(task, false);
+            return null;
+        }
+
+        if (task.edits.isEmpty()) {
+            executor.fileDone(task.file, task.report, false);
+            processed(task, false);
+            return null;
+        }
+        return task;
+    }
+
+    private FileTask write(FileTask task) {
+        try {
+            fixingHandler.write(task.file, task.content, task.edits, task.report);
+        } catch (UnwritableFileException e) {
+            executor.unwritable(task.file, task.report);
+            processed(task, false);
+            return null;
+        }
+        executor.fileDone(task.file, task.report, true);
+        processed(task, true);
+        return null;
+    }
+
+    private void processed(FileTask task, boolean fixed) {
+        releaseBudget(task);
+        if (fixed) {
+            fixedFilesCount.incrementAndGet();
+        }
+        synchronized (progressListener) {
+            progressListener.accept(processedFilesCount.incrementAndGet());
+        }
+    }
+
+    private void releaseBudget(FileTask task) {
+        executor.releaseBudget(task.budgetWeight);
+        task.budgetWeight = 0;
+    }
+
+    // Virtual threads are created through reflection, so the tool still builds and runs on Java 8
+    @VisibleForTesting
+    static ThreadFactory ioThreadFactory(String name) {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, name + "-", 0L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            return platformThreadFactory(name);
+        }
+    }
+
+    private static ThreadFactory platformThreadFactory(String name) {
+        AtomicInteger threadsCount = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + threadsCount.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private interface Step {
+        // Returns the task for the next stage, null when the file is done
+        FileTask process(FileTask task);
+    }
+
+    private final class Stage {
+        private final int threadsCount;
+        private final BlockingQueue<FileTask> input;
+        private final Stage next;
+        private final Step step;
+        private final AtomicInteger runningThreadsCount;
+
+        Stage(int threadsCount, int queueCapacity, Stage next, Step step) {
+            this.threadsCount = threadsCount;
+            this.input = new ArrayBlockingQueue<>(queueCapacity);
+            this.next = next;
+            this.step = step;
+            this.runningThreadsCount = new AtomicInteger(threadsCount);
+        }
+
+        void start(ThreadFactory threadFactory) {
+            for (int i = 0; i < threadsCount; i++) {
+                Thread thread = threadFactory.newThread(this::processTasks);
+                threads.add(thread);
+                thread.start();
+            }
+        }
+
+        void end() throws InterruptedException {
+            for (int i = 0; i < threadsCount; i++) {
+                input.put(END);
+            }
+        }
+
+        private void processTasks() {
+            try {
+                FileTask task;
+                while ((task = input.take()) != END) {
+                    process(task);
+                }
+
+                // The last thread of the stage ends the next one, once no more tasks can come to it
+                if (runningThreadsCount.decrementAndGet() == 0 && next != null) {
+                    next.end();
+                }
+            } catch (InterruptedException e) {
+                // Only the interrupted run stops the stages
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        // After a failure the tasks are still taken from the queue, so the previous stage never waits forever, and
+        // their budget is released
+        private void process(FileTask task) throws InterruptedException {
+            if (failure.get() != null) {
+                releaseBudget(task);
+                return;
+            }
+
+            FileTask nextTask;
+            try {
+                nextTask = step.process(task);
+            } catch (RuntimeException e) {
+                // Budget of the dropped file is released, so no reader waits for it forever
+                releaseBudget(task);
+                fail(e);
+                return;
+            }
+
+            if (nextTask != null) {
+                next.input.put(nextTask);
+            }
+        }
+    }
+
+    private static final class FileTask {
+        private final File file;
+        private FileReport report;
+        private String content;
+        private List<TextEdit> edits;
+        private long budgetWeight;
+
+        FileTask(File file) {
+            this.file = file;
+        }
+    }
+}
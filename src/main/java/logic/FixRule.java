@@ -0,0 +1,14 @@
+package logic;
+
+import entity.EntityDetailDescription;
+
+// Entity rules work with the javadoc tree, which they change in place, the syntax rules with the javadoc text
+public interface FixRule<T> {
+
+    String getName();
+
+    // Cheap check which returns false only when the rule can not change the javadoc
+    boolean mayApply(T javadoc, EntityDetailDescription entityDescription);
+
+    T apply(T javadoc, EntityDetailDescription entityDescription);
+}
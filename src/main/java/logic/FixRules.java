@@ -0,0 +1,134 @@
+package logic;
+
+import entity.EntityDetailDescription;
+import entity.MethodDescription;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import java.util.stream.Collectors;
+
+// Assembles the fixing pipeline. Entity rules run first, then the syntax rules, each group in the declared order
+final class FixRules {
+
+    static final String SCANNED_RULES_NAME = "fixIncompleteTagsAngleBracketsAndAmpersands";
+    static final List<String> RULE_NAMES = Collections.unmodifiableList(Arrays.asList(
+            "fixParamStatements", "fixThrowsStatements", "fixReturnStatements",
+            "fixIncompleteTags", "fixBadUseOfAngleBrackets", "fixAmpersands",
+            "fixGenerics", "fixSelfEnclosingAndEmptyTags", "fixSelfInventedAnnotations"
+    ));
+
+    private FixRules() {
+    }
+
+    static List<FixRule<JavadocTree>> entityRules(JavadocFixingHandler handler, Set<String> disabledRules) {
+        return enabled(disabledRules, Arrays.asList(
+                FixRules.<JavadocTree>rule("fixParamStatements",
+                        (javadoc, entity) -> !entity.getParams().isEmpty() || javadoc.hasTag("param"),
+                        (javadoc, entity) -> {
+                            handler.fixParamStatements(javadoc, entity);
+                            return javadoc;
+                        }),
+                rule("fixThrowsStatements",
+                        (javadoc, entity) -> !entity.getExceptionsThrown().isEmpty() || javadoc.hasTag("throws"),
+                        (javadoc, entity) -> {
+                            handler.fixThrowsStatements(javadoc, entity);
+                            return javadoc;
+                        }),
+                rule("fixReturnStatements",
+                        (javadoc, entity) -> entity instanceof MethodDescription
+                                && (!((MethodDescription) entity).getReturnType().equals("void")
+                                || javadoc.hasTag("return")),
+                        (javadoc, entity) -> {
+                            handler.fixReturnStatements(javadoc, (MethodDescription) entity);
+                            return javadoc;
+                        })
+        ));
+    }
+
+    static List<FixRule<String>> syntaxRules(JavadocFixingHandler handler, Set<String> disabledRules) {
+        // Incomplete tags, angle brackets and ampersands rules follow each other, so they run as one scan
+        SyntaxScanner scanner = new SyntaxScanner(!disabledRules.contains(SyntaxScanner.INCOMPLETE_TAGS_RULE),
+                !disabledRules.contains(SyntaxScanner.ANGLE_BRACKETS_RULE),
+                !disabledRules.contains(SyntaxScanner.AMPERSANDS_RULE));
+
+        return enabled(disabledRules, Arrays.asList(
+                new ScannedRules(scanner),
+                rule("fixGenerics",
+                        (javadoc, entity) -> javadoc.indexOf('<') >= 0,
+                        (javadoc, entity) -> handler.fixGenerics(javadoc)),
+                rule("fixSelfEnclosingAndEmptyTags",
+                        (javadoc, entity) -> javadoc.contains("/>") || javadoc.contains("</"),
+                        (javadoc, entity) -> handler.fixSelfEnclosingAndEmptyTags(javadoc)),
+                rule("fixSelfInventedAnnotations",
+                        (javadoc, entity) -> javadoc.indexOf('@') >= 0,
+                        (javadoc, entity) -> handler.fixSelfInventedAnnotations(javadoc))
+        ));
+    }
+
+    static void validate(Set<String> ruleNames) {
+        for (String ruleName : ruleNames) {
+            if (!RULE_NAMES.contains(ruleName)) {
+                throw new IllegalArgumentException("Unknown rule: " + ruleName + ", known rules: " + RULE_NAMES);
+            }
+        }
+    }
+
+    private static <T> List<FixRule<T>> enabled(Set<String> disabledRules, List<FixRule<T>> rules) {
+        return Collections.unmodifiableList(rules.stream()
+                .filter(rule -> !disabledRules.contains(rule.getName()))
+                .collect(Collectors.toList()));
+    }
+
+    // The scan is timed as one rule, while its fixes are counted by the rules it replaces
+    static final class ScannedRules implements FixRule<String> {
+        private final SyntaxScanner scanner;
+
+        private ScannedRules(SyntaxScanner scanner) {
+            this.scanner = scanner;
+        }
+
+        @Override
+        public String getName() {
+            return SCANNED_RULES_NAME;
+        }
+
+        @Override
+        public boolean mayApply(String javadoc, EntityDetailDescription entityDescription) {
+            return scanner.mayApply(javadoc);
+        }
+
+        @Override
+        public String apply(String javadoc, EntityDetailDescription entityDescription) {
+            return scanner.fix(javadoc);
+        }
+
+        String apply(String javadoc, Map<String, Integer> hitsByRule) {
+            return scanner.fix(javadoc, hitsByRule);
+        }
+    }
+
+    private static <T> FixRule<T> rule(String name, BiPredicate<T, EntityDetailDescription> preCheck,
+                                       BiFunction<T, EntityDetailDescription, T> body) {
+        return new FixRule<T>() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public boolean mayApply(T javadoc, EntityDetailDescription entityDescription) {
+                return preCheck.test(javadoc, entityDescription);
+            }
+
+            @Override
+            public T apply(T javadoc, EntityDetailDescription entityDescription) {
+                return body.apply(javadoc, entityDescription);
+            }
+        };
+    }
+}
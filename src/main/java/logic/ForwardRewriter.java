@@ -0,0 +1,74 @@
+package logic;
+
+// Rewrites a text in one forward pass. The rewriter is a view of the text which is not final yet: the last
+// replacement followed by the not processed rest of the original text. Replacing a part of the view moves everything
+// before it to the output, so matchers created over the view never scan the handled text again, while matches
+// created by a replacement together with the following text are still found.
+final class ForwardRewriter implements CharSequence {
+
+    private final String original;
+    private final StringBuilder output;
+    private String head = "";
+    private int offset;
+    private boolean rewritten;
+
+    ForwardRewriter(String original) {
+        this.original = original;
+        this.output = new StringBuilder(original.length() + 16);
+    }
+
+    // Index in the text rewritten so far, which is the output followed by the view
+    int rewrittenIndex(int index) {
+        return output.length() + index;
+    }
+
+    void replace(int start, int end, String replacement) {
+        if (start < head.length()) {
+            output.append(head, 0, start);
+        } else {
+            output.append(head);
+            output.append(original, offset, offset + start - head.length());
+        }
+
+        if (end <= head.length()) {
+            head = replacement + head.substring(end);
+        } else {
+            offset += end - head.length();
+            head = replacement;
+        }
+        rewritten = true;
+    }
+
+    String result() {
+        if (!rewritten) {
+            return original;
+        }
+        return output.append(head).append(original, offset, original.length()).toString();
+    }
+
+    @Override
+    public int length() {
+        return head.length() + original.length() - offset;
+    }
+
+    @Override
+    public char charAt(int index) {
+        return index < head.length() ? head.charAt(index) : original.charAt(offset + index - head.length());
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        if (start >= head.length()) {
+            return original.substring(offset + start - head.length(), offset + end - head.length());
+        }
+        if (end <= head.length()) {
+            return head.substring(start, end);
+        }
+        return head.substring(start) + original.substring(offset, offset + end - head.length());
+    }
+
+    @Override
+    public String toString() {
+        return head + original.substring(offset);
+    }
+}
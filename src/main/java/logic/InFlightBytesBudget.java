@@ -0,0 +1,111 @@
+package logic;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Global memory budget of the files fixed at the same time. A file weighs its size times the expansion factor, since
+// its content is held as bytes, chars, a string and copies made by the fixing. A file which doesn't fit waits until
+// enough files are done, files are let in the order they came, so a big one is not starved by small ones. A file
+// bigger than the whole budget is fixed when nothing else is in flight.
+public class InFlightBytesBudget {
+
+    public static final int EXPANSION_FACTOR = 8;
+    // Rest of the heap is left for the fixing itself, the caches and the parsed entities
+    private static final double HEAP_SHARE = 0.5;
+
+    private final long budgetBytes;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition bytesReleased = lock.newCondition();
+    private long inFlightBytes;
+    private long nextTicket;
+    private long servedTicket;
+    private final Set<Long> abandonedTickets = new HashSet<>();
+
+    public InFlightBytesBudget(long budgetBytes) {
+        if (budgetBytes < 1) {
+            throw new IllegalArgumentException("Memory budget should be positive");
+        }
+        this.budgetBytes = budgetBytes;
+    }
+
+    public static InFlightBytesBudget ofHeap() {
+        return new InFlightBytesBudget((long) (Runtime.getRuntime().maxMemory() * HEAP_SHARE));
+    }
+
+    // Returns the weight which should be released once the file is done
+    public long acquire(long fileSize) throws InterruptedException {
+        return acquire(fileSize, () -> false);
+    }
+
+    // Waiting is given up once the run is cancelled, then 0 is returned and nothing is acquired. The cancellation
+    // is checked again on every release and wakeUp call.
+    public long acquire(long fileSize, BooleanSupplier cancelled) throws InterruptedException {
+        long weight = Math.min(budgetBytes, fileSize * EXPANSION_FACTOR);
+
+        lock.lock();
+        try {
+            long ticket = nextTicket++;
+            try {
+                while (ticket != servedTicket || inFlightBytes > 0 && inFlightBytes + weight > budgetBytes) {
+                    if (cancelled.getAsBoolean()) {
+                        leaveLine(ticket);
+                        return 0;
+                    }
+                    bytesReleased.await();
+                }
+            } catch (InterruptedException e) {
+                leaveLine(ticket);
+                throw e;
+            }
+            inFlightBytes += weight;
+            // The next file in the line may fit as well
+            serveNext();
+        } finally {
+            lock.unlock();
+        }
+        return weight;
+    }
+
+    public void release(long weight) {
+        lock.lock();
+        try {
+            inFlightBytes -= weight;
+            bytesReleased.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void wakeUp() {
+        lock.lock();
+        try {
+            bytesReleased.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // The line should not wait for the file which left it
+    private void leaveLine(long ticket) {
+        if (ticket == servedTicket) {
+            serveNext();
+        } else {
+            abandonedTickets.add(ticket);
+        }
+    }
+
+    private void serveNext() {
+        servedTicket++;
+        while (abandonedTickets.remove(servedTicket)) {
+            servedTicket++;
+        }
+        bytesReleased.signalAll();
+    }
+
+    public long getBudgetBytes() {
+        return budgetBytes;
+    }
+}
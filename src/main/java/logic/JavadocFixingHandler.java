@@ -4,71 +4,226 @@ import custom.VisibleForTesting;
 import entity.DescribedEntity;
 import entity.EntityDetailDescription;
 import entity.MethodDescription;
+import entity.Param;
+import entity.TextEdit;
 import fileHandler.FileContentHandler;
+import metrics.FileReport;
+import metrics.MetricsRegistry;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
-import static logic.ParserUtils.convertParams;
-import static logic.ParserUtils.eliminateSpecialChars;
-import static logic.ParserUtils.getStatements;
-import static logic.ParserUtils.indexOfFirstOutsideCurlyBrackets;
 
 public class JavadocFixingHandler {
 
-    private final static String START_PATTERN = "/**";
-    private final static String END_PATTERN = "*/";
-    private final static String LINE_BEGIN_PATTERN = "[\\n].*?[*][^*]*?";
+    // Should be increased on every change of the fixing rules output, so files cached by incremental runs are fixed again
+    public final static String RULES_VERSION = "4";
+
+    private final static Set<String> ALLOWED_ANNOTATIONS = new HashSet<>(Arrays.asList(
+            "@author", "@version", "@param",
+            "@return", "@deprecated", "@since",
+            "@throws", "@exception", "@see",
+            "@serial", "@serialField", "@serialData",
+            "@link", "@code"
+    ));
+
+    private final static SyntaxScanner INCOMPLETE_TAGS_SCANNER = new SyntaxScanner(true, false, false);
+    private final static SyntaxScanner ANGLE_BRACKETS_SCANNER = new SyntaxScanner(false, true, false);
+    private final static SyntaxScanner AMPERSANDS_SCANNER = new SyntaxScanner(false, false, true);
+
+    private final List<FixRule<JavadocTree>> entityRules;
+    private final List<FixRule<String>> syntaxRules;
+    private final MetricsRegistry metrics;
+    // Set in the streaming mode only
+    private final StreamingJavadocFixer streamingFixer;
+
+    public JavadocFixingHandler() {
+        this(null);
+    }
+
+    public JavadocFixingHandler(MetricsRegistry metrics) {
+        this(Collections.emptySet(), metrics);
+    }
+
+    public JavadocFixingHandler(Set<String> disabledRules, MetricsRegistry metrics) {
+        this(disabledRules, metrics, false);
+    }
+
+    // In the streaming mode files are fixed while they are read, so the memory used for a file doesn't depend on
+    // its size
+    public JavadocFixingHandler(Set<String> disabledRules, MetricsRegistry metrics, boolean streaming) {
+        FixRules.validate(disabledRules);
+
+        this.entityRules = FixRules.entityRules(this, disabledRules);
+        this.syntaxRules = FixRules.syntaxRules(this, disabledRules);
+        this.metrics = metrics;
+        this.streamingFixer = streaming ? new StreamingJavadocFixer(this) : null;
+    }
+
+    // Output of the pipeline depends on the disabled rules as well, so they are a part of the version
+    public static String rulesVersion(Set<String> disabledRules) {
+        if (disabledRules.isEmpty()) {
+            return RULES_VERSION;
+        }
+        return RULES_VERSION + "-" + String.join(",", new TreeSet<>(disabledRules));
+    }
+
+    // Memory used for a file in the streaming mode doesn't depend on its size
+    public boolean isStreaming() {
+        return streamingFixer != null;
+    }
+
+    public boolean fix(File file) {
+        return fix(file, null);
+    }
 
-    public void fix(File file) {
+    // Statistics of the file are added to the report when it is given
+    public boolean fix(File file, FileReport report) {
+        if (streamingFixer != null) {
+            return fixStreaming(file, report);
+        }
+
+        String fileContent = read(file, report);
+        List<TextEdit> edits = computeEdits(fileContent, report);
+
+        if (edits.isEmpty()) {
+            return false;
+        }
+        write(file, fileContent, edits, report);
+        return true;
+    }
+
+    // Reading, fixing and writing are interleaved in the streaming mode, so the whole time is reported as fixing
+    private boolean fixStreaming(File file, FileReport report) {
+        long bytesIn = file.length();
+        long start = System.nanoTime();
+        boolean changed = streamingFixer.fix(file, report);
+        long nanos = record(MetricsRegistry.STAGE, "stream", start, changed);
+
+        if (report != null) {
+            report.setBytesIn(bytesIn);
+            report.setBytesOut(changed ? file.length() : bytesIn);
+            report.setFixNanos(nanos);
+        }
+        return changed;
+    }
+
+    // Read, fix and write stages are also run separately by the pipelined executor, so reading and writing of some
+    // files overlap with fixing of the others
+    public String read(File file, FileReport report) {
+        long start = System.nanoTime();
         String fileContent = FileContentHandler.getFileContent(file);
-        String fixedJavadoc = fixJavadocSyntaxProblems(fileContent);
+        long nanos = record(MetricsRegistry.STAGE, "read", start, false);
 
-        if (!fileContent.equals(fixedJavadoc)) {
-            FileContentHandler.rewriteFile(file, fixedJavadoc);
+        if (report != null) {
+            report.setBytesIn(file.length());
+            report.setBytesOut(report.getBytesIn());
+            report.setReadNanos(nanos);
         }
+        return fileContent;
+    }
+
+    public List<TextEdit> computeEdits(String fileContent, FileReport report) {
+        long start = System.nanoTime();
+        List<TextEdit> edits = computeEdits(fileContent, SourceLexer.indexJavadocs(fileContent), report);
+        long nanos = record(MetricsRegistry.STAGE, "fix", start, !edits.isEmpty());
 
-        System.gc();
+        if (report != null) {
+            report.setFixNanos(nanos);
+        }
+        return edits;
     }
 
-    /*package*/ String fixJavadocSyntaxProblems(String fileContentString) {
-        int javadocStart = -1;
-        int javadocEnd;
+    public void write(File file, String fileContent, List<TextEdit> edits, FileReport report) {
+        long start = System.nanoTime();
+        FileContentHandler.rewriteFile(file, TextEdit.apply(fileContent, edits));
+        long nanos = record(MetricsRegistry.STAGE, "write", start, true);
 
-        StringBuilder fileContent = new StringBuilder(fileContentString);
+        if (report != null) {
+            report.setBytesOut(file.length());
+            report.setWriteNanos(nanos);
+        }
+    }
 
-        while (true) {
-            javadocStart = fileContent.indexOf(START_PATTERN, javadocStart + 1);
-            javadocEnd = fileContent.indexOf(END_PATTERN, javadocStart + 1) + END_PATTERN.length();
+    // Edits which fix the javadocs of the source, sorted by offset and not overlapping. The source itself is
+    // copied at most once, when the edits are applied.
+    public List<TextEdit> computeEdits(String fileContent) {
+        return computeEdits(fileContent, SourceLexer.indexJavadocs(fileContent), null);
+    }
 
-            if (javadocStart < 0 || javadocEnd < 0) {
-                break;
-            }
+    /*package*/ String fixJavadocSyntaxProblems(String fileContent) {
+        return fixJavadocs(fileContent, SourceLexer.indexJavadocs(fileContent), null);
+    }
+
+    /*package*/ String fixJavadocs(String fileContent, List<SourceLexer.JavadocBlock> javadocs, FileReport report) {
+        return TextEdit.apply(fileContent, computeEdits(fileContent, javadocs, report));
+    }
+
+    private List<TextEdit> computeEdits(String fileContent, List<SourceLexer.JavadocBlock> javadocs,
+                                        FileReport report) {
+        if (report != null) {
+            report.addJavadocs(javadocs.size());
+        }
+        if (javadocs.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        // Rules work with "\n" line breaks, so javadocs and declarations are converted and the fixes converted back
+        boolean windowsLineBreaks = fileContent.contains("\r\n");
+        List<TextEdit> edits = new ArrayList<>();
 
-            String javadoc = fileContent.substring(javadocStart, javadocEnd);
-            DescribedEntity describedEntity = EntityParser.getDescribedEntity(javadocEnd, fileContent.toString());
+        for (SourceLexer.JavadocBlock javadocBlock : javadocs) {
+            FileDeadline.check();
 
-            String fixedJavadoc = javadoc;
+            String javadoc = fileContent.substring(javadocBlock.getStart(), javadocBlock.getEnd());
+            DescribedEntity describedEntity;
+
+            if (windowsLineBreaks && javadocBlock.getDeclarationEnd() >= 0) {
+                String declaration = toUnixLineBreaks(
+                        fileContent.substring(javadocBlock.getEnd(), javadocBlock.getDeclarationEnd()));
+                describedEntity = EntityParser.getDescribedEntity(declaration, 0, declaration.length());
+            } else {
+                describedEntity = EntityParser.getDescribedEntity(fileContent,
+                        javadocBlock.getEnd(), javadocBlock.getDeclarationEnd());
+            }
+
+            String originalJavadoc = windowsLineBreaks ? toUnixLineBreaks(javadoc) : javadoc;
+            String fixedJavadoc = originalJavadoc;
 
             // Fixing javadoc based on described entity
-            fixedJavadoc = fixJavadocBasedOnDescribedEntity(fixedJavadoc, describedEntity);
+            fixedJavadoc = fixJavadocBasedOnDescribedEntity(fixedJavadoc, describedEntity, report);
 
             // Fixing syntax problems
-            fixedJavadoc = fixJavadocBasedOnSyntaxRequirements(fixedJavadoc);
+            fixedJavadoc = fixJavadocBasedOnSyntaxRequirements(fixedJavadoc, report);
 
-            fileContent.replace(javadocStart, javadocEnd, fixedJavadoc);
+            if (!fixedJavadoc.equals(originalJavadoc)) {
+                edits.add(TextEdit.between(javadocBlock.getStart(), javadoc,
+                        windowsLineBreaks ? LiteralReplacer.replaceAll(fixedJavadoc, "\n", "\r\n") : fixedJavadoc));
+            }
         }
 
-        return fileContent.toString();
+        return edits;
+    }
+
+    private static String toUnixLineBreaks(String text) {
+        return LiteralReplacer.replaceAll(text, "\r\n", "\n");
     }
 
     /*package*/ String fixJavadocBasedOnDescribedEntity(String javadoc, DescribedEntity describedEntity) {
+        return fixJavadocBasedOnDescribedEntity(javadoc, describedEntity, null);
+    }
+
+    private String fixJavadocBasedOnDescribedEntity(String javadoc, DescribedEntity describedEntity,
+                                                    FileReport report) {
         if (!describedEntity.isPresent()) {
             return javadoc;
         }
@@ -78,261 +233,344 @@ public class JavadocFixingHandler {
             return javadoc;
         }
 
-        javadoc = fixParamStatements(javadoc, entityDescription);
-        javadoc = fixThrowsStatements(javadoc, entityDescription);
-
-        if (entityDescription instanceof MethodDescription) {
-            javadoc = fixReturnStatements(javadoc, (MethodDescription) entityDescription);
+        // Entity rules share one tree, which is printed once after all of them
+        JavadocTree javadocTree = JavadocTree.parse(javadoc);
+        for (FixRule<JavadocTree> rule : entityRules) {
+            applyRule(rule, javadocTree, entityDescription, report);
         }
 
-        return javadoc;
+        return javadocTree.getModifications() == 0 ? javadoc : javadocTree.toString();
     }
 
     /*package*/ String fixJavadocBasedOnSyntaxRequirements(String javadoc) {
-        String fixedJavadoc = fixIncompleteTags(javadoc);
-        fixedJavadoc = fixBadUseOfAngleBrackets(fixedJavadoc);
-        fixedJavadoc = fixAmpersands(fixedJavadoc);
-        fixedJavadoc = fixGenerics(fixedJavadoc);
-        fixedJavadoc = fixSelfEnclosingAndEmptyTags(fixedJavadoc);
-        fixedJavadoc = fixSelfInventedAnnotations(fixedJavadoc);
+        return fixJavadocBasedOnSyntaxRequirements(javadoc, null);
+    }
+
+    private String fixJavadocBasedOnSyntaxRequirements(String javadoc, FileReport report) {
+        String fixedJavadoc = javadoc;
+
+        for (FixRule<String> rule : syntaxRules) {
+            fixedJavadoc = applyRule(rule, fixedJavadoc, null, report);
+        }
 
         return fixedJavadoc;
     }
 
+    private String applyRule(FixRule<String> rule, String javadoc, EntityDetailDescription entityDescription,
+                             FileReport report) {
+        FileDeadline.check();
+
+        if (!rule.mayApply(javadoc, entityDescription)) {
+            return javadoc;
+        }
+
+        if (metrics == null && report == null) {
+            return rule.apply(javadoc, entityDescription);
+        }
+
+        if (rule instanceof FixRules.ScannedRules) {
+            return applyScannedRules((FixRules.ScannedRules) rule, javadoc, report);
+        }
+
+        long start = System.nanoTime();
+        String fixedJavadoc = rule.apply(javadoc, entityDescription);
+        recordRule(rule, start, !fixedJavadoc.equals(javadoc), report);
+        return fixedJavadoc;
+    }
+
+    // The scan is timed as a whole, every rule which took part in it counts its own invocation and fix
+    private String applyScannedRules(FixRules.ScannedRules rules, String javadoc, FileReport report) {
+        Map<String, Integer> hitsByRule = new HashMap<>(4);
+        long start = System.nanoTime();
+        String fixedJavadoc = rules.apply(javadoc, hitsByRule);
+        record(MetricsRegistry.RULE, rules.getName(), start, !fixedJavadoc.equals(javadoc));
+
+        for (Map.Entry<String, Integer> ruleHits : hitsByRule.entrySet()) {
+            boolean modified = ruleHits.getValue() > 0;
+            if (metrics != null) {
+                metrics.timer(MetricsRegistry.RULE, ruleHits.getKey()).count(modified, rules.getName());
+            }
+            if (report != null && modified) {
+                report.addFix(ruleHits.getKey());
+            }
+        }
+        return fixedJavadoc;
+    }
+
+    private void applyRule(FixRule<JavadocTree> rule, JavadocTree javadoc,
+                           EntityDetailDescription entityDescription, FileReport report) {
+        FileDeadline.check();
+
+        if (!rule.mayApply(javadoc, entityDescription)) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        int modifications = javadoc.getModifications();
+        rule.apply(javadoc, entityDescription);
+
+        if (metrics != null || report != null) {
+            recordRule(rule, start, javadoc.getModifications() != modifications, report);
+        }
+    }
+
+    private void recordRule(FixRule<?> rule, long start, boolean modified, FileReport report) {
+        record(MetricsRegistry.RULE, rule.getName(), start, modified);
+
+        if (report != null && modified) {
+            report.addFix(rule.getName());
+        }
+    }
+
+    // Returns the recorded duration
+    private long record(String kind, String name, long start, boolean modified) {
+        long nanos = System.nanoTime() - start;
+        if (metrics != null) {
+            metrics.timer(kind, name).record(nanos, modified);
+        }
+        return nanos;
+    }
+
     @VisibleForTesting
     String fixParamStatements(String javadoc, EntityDetailDescription entityDescription) {
-        List<String> javadocParams = getStatements(javadoc, "param");
-        List<List<String>> params = convertParams(entityDescription.getParams());
-        String beforeParamNameRegex = "[^<]*?@param[\\s\\(]*?\\b";
-        String afterParamNameRegex = "\\b[\\s\\)]*?[^<]*";
-
-        for (String javadocParam : javadocParams) {
-            List<String> validJavadocParameterName = params.stream()
-                    .filter(p -> javadocParam.matches(beforeParamNameRegex + p.get(1) + afterParamNameRegex))
-                    .findAny().orElse(null);
-
-            if (validJavadocParameterName == null) {
-                javadoc = javadoc.replaceFirst(LINE_BEGIN_PATTERN + eliminateSpecialChars(javadocParam), "");
+        JavadocTree javadocTree = JavadocTree.parse(javadoc);
+        fixParamStatements(javadocTree, entityDescription);
+        return javadocTree.toString();
+    }
+
+    void fixParamStatements(JavadocTree javadoc, EntityDetailDescription entityDescription) {
+        List<JavadocTree.BlockTag> javadocParams = javadoc.blockTags("param");
+        List<Param> params = entityDescription.getParams();
+        List<String> paramNames = new ArrayList<>(params.size());
+        for (Param param : params) {
+            paramNames.add(param.getName());
+        }
+        DeclaredNames declaredNames = new DeclaredNames(paramNames);
+        Set<String> documentedNames = new HashSet<>();
+
+        for (JavadocTree.BlockTag javadocParam : javadocParams) {
+            String statement = javadocParam.getStatement();
+            Set<String> statementNames = declaredNames.namedAfterTag(statement, "param");
+            documentedNames.addAll(statementNames);
+
+            int validParamIndex = declaredNames.firstIndex(statementNames);
+            if (validParamIndex < 0) {
+                javadoc.removeLine(javadocParam);
                 continue;
             }
 
-            String[] javadocParamParts = javadocParam.split(" ");
+            Param validJavadocParameterName = params.get(validParamIndex);
+            String[] javadocParamParts = statement.split(" ");
 
             if (javadocParamParts.length < 3) {
-                String replacement = "@param " + validJavadocParameterName.get(1) + " - the " +
-                        validJavadocParameterName.get(1) +
-                        " (" + replaceVarargs(validJavadocParameterName.get(0)) + ")";
+                String replacement = "@param " + validJavadocParameterName.getName() + " - the " +
+                        validJavadocParameterName.getName() +
+                        " (" + replaceVarargs(validJavadocParameterName) + ")";
 
-                javadoc = javadoc.replaceFirst(eliminateSpecialChars(javadocParam), replacement);
+                javadoc.replace(javadocParam, replacement);
             }
 
-            if (javadocParamParts[1].matches("[\\(]" + validJavadocParameterName.get(1) + "[\\)]")) {
-                javadoc = javadoc.replaceFirst(eliminateSpecialChars(
-                        javadocParamParts[1]), validJavadocParameterName.get(1));
+            if (javadocParamParts[1].equals("(" + validJavadocParameterName.getName() + ")")) {
+                javadoc.replaceInside(javadocParam, javadocParamParts[1], validJavadocParameterName.getName());
             }
         }
 
         if (params.isEmpty()) {
-            return javadoc;
+            return;
         }
 
-        Collections.reverse(params);
-        for (List<String> param : params) {
-            boolean paramPresentedInJavadoc = javadocParams.stream()
-                    .anyMatch(p -> p.matches(beforeParamNameRegex + param.get(1) + afterParamNameRegex));
-
-            if (!paramPresentedInJavadoc) {
-                javadoc = addParamToJavadoc(javadoc, param);
+        // Params are added before the first statement in the reverse order, so they end up in the declared one
+        for (int i = params.size() - 1; i >= 0; i--) {
+            if (!documentedNames.contains(params.get(i).getName())) {
+                addParamToJavadoc(javadoc, params.get(i));
             }
         }
-        return javadoc;
     }
 
-    private String addParamToJavadoc(String javadoc, List<String> param) {
-        int indexOfFirstStatementMarkOutsideCurlyBrackets = indexOfFirstOutsideCurlyBrackets(javadoc, "@");
-        String parameterStatement = "@param " + param.get(1) + " - the "
-                + param.get(1) + " (" + replaceVarargs(param.get(0)) + ")\n";
+    private void addParamToJavadoc(JavadocTree javadoc, Param param) {
+        int indexOfFirstStatementMarkOutsideCurlyBrackets = javadoc.firstTagOutsideInlineTags();
+        String parameterStatement = "@param " + param.getName() + " - the "
+                + param.getName() + " (" + replaceVarargs(param) + ")\n";
 
         if (indexOfFirstStatementMarkOutsideCurlyBrackets > 0) {
-            return javadoc.substring(0, indexOfFirstStatementMarkOutsideCurlyBrackets) + parameterStatement + "     * "
-                    + javadoc.substring(indexOfFirstStatementMarkOutsideCurlyBrackets);
+            javadoc.insert(indexOfFirstStatementMarkOutsideCurlyBrackets, parameterStatement + "     * ");
+        } else if (javadoc.commentEnd() >= 0) {
+            javadoc.insert(javadoc.commentEnd(), "* " + parameterStatement + "     ");
         }
-
-        return javadoc.replaceFirst("[*][/]",
-                "* " + parameterStatement + "     */");
-
     }
 
-    private String replaceVarargs(String paramType) {
-        if (paramType.matches(".*?[.]{3}")) {
-            return "varargs of type " + paramType.substring(0, paramType.length() - 3);
+    private String replaceVarargs(Param param) {
+        if (param.isVarargs()) {
+            return "varargs of type " + param.getElementType();
         }
-        return paramType;
+        return param.getType();
     }
 
     @VisibleForTesting
     String fixThrowsStatements(String javadoc, EntityDetailDescription entityDescription) {
-        List<String> javadocThrows = getStatements(javadoc, "throws");
+        JavadocTree javadocTree = JavadocTree.parse(javadoc);
+        fixThrowsStatements(javadocTree, entityDescription);
+        return javadocTree.toString();
+    }
+
+    void fixThrowsStatements(JavadocTree javadoc, EntityDetailDescription entityDescription) {
+        List<JavadocTree.BlockTag> javadocThrows = javadoc.blockTags("throws");
+        DeclaredNames declaredNames = new DeclaredNames(entityDescription.getExceptionsThrown());
+        Set<String> documentedNames = new HashSet<>();
 
-        for (String javadocThrow : javadocThrows) {
-            String[] javadocThrowParts = javadocThrow.trim().split("\\s");
+        for (JavadocTree.BlockTag javadocThrow : javadocThrows) {
+            String statement = javadocThrow.getStatement();
+            String[] javadocThrowParts = Patterns.WHITESPACE.split(statement.trim());
             String exceptionName = javadocThrowParts[1];
 
-            boolean thrown = entityDescription.getExceptionsThrown().stream()
-                    .anyMatch(ex -> exceptionName.matches("[^<]*\\b" + ex + "\\b[^<]*"));
+            boolean thrown = !declaredNames.containedIn(exceptionName).isEmpty();
+            documentedNames.addAll(declaredNames.containedIn(statement));
 
             if (entityDescription.getExceptionsThrown().isEmpty() || !thrown) {
-                javadoc = javadoc.replaceFirst(LINE_BEGIN_PATTERN + eliminateSpecialChars(javadocThrow), "");
+                javadoc.removeLine(javadocThrow);
                 continue;
             }
 
             if (javadocThrowParts.length < 3) {
-                javadoc = javadoc.replaceFirst(eliminateSpecialChars(javadocThrow), javadocThrow + " - exception");
+                javadoc.replace(javadocThrow, statement + " - exception");
             }
         }
 
         if (entityDescription.getExceptionsThrown().isEmpty()) {
-            return javadoc;
+            return;
         }
 
         for (String exception : entityDescription.getExceptionsThrown()) {
-            boolean throwsPresentedInJavadoc = javadocThrows.stream()
-                    .anyMatch(th -> th.matches("[^<]*\\b" + exception + "\\b[^<]*"));
-
-            if (!throwsPresentedInJavadoc) {
-                javadoc = javadoc.replaceFirst("[*][/]", "* @throws " + exception + " - exception\n     */");
+            if (!documentedNames.contains(exception) && javadoc.commentEnd() >= 0) {
+                javadoc.insert(javadoc.commentEnd(), "* @throws " + exception + " - exception\n     ");
             }
         }
-
-        return javadoc;
     }
 
     String fixReturnStatements(String javadoc, MethodDescription methodDescription) {
+        JavadocTree javadocTree = JavadocTree.parse(javadoc);
+        fixReturnStatements(javadocTree, methodDescription);
+        return javadocTree.toString();
+    }
+
+    void fixReturnStatements(JavadocTree javadoc, MethodDescription methodDescription) {
         if (methodDescription.getReturnType().equals("void")) {
-            javadoc = javadoc.replaceAll(LINE_BEGIN_PATTERN + "[@]return.*", "");
-            return javadoc;
+            javadoc.removeAll(Patterns.LINE_BEGIN_RETURN_STATEMENT);
+            return;
         }
 
-        int indexOfReturn = javadoc.indexOf("@return");
+        int indexOfReturn = javadoc.indexOfTag("return", 0);
 
         if (indexOfReturn < 0) {
             String returnStatement = "* @return " + methodDescription.getReturnType() + "\n     ";
-            int indexOfThrows = javadoc.indexOf("* @throws");
-            if (indexOfThrows < 0) {
-                javadoc = javadoc.replaceFirst("[*][/]", returnStatement + "*/");
-            } else {
-                javadoc = javadoc.substring(0, indexOfThrows) + returnStatement + javadoc.substring(indexOfThrows);
+            int indexOfThrows = javadoc.indexOfTagLine("throws");
+            if (indexOfThrows >= 0) {
+                javadoc.insert(indexOfThrows, returnStatement);
+            } else if (javadoc.commentEnd() >= 0) {
+                javadoc.insert(javadoc.commentEnd(), returnStatement);
             }
-            return javadoc;
+            return;
         }
 
-        boolean noDescriptionForReturn = javadoc.substring(indexOfReturn).matches("@return[^\\w]*?[*][^$]*");
-        if (noDescriptionForReturn) {
+        if (javadoc.tagWithoutDescription(indexOfReturn, "return")) {
             int indexOfReturnEnd = indexOfReturn + 7;
-            javadoc = javadoc.substring(0, indexOfReturnEnd) + " " + methodDescription.getReturnType() + javadoc.substring(indexOfReturnEnd);
+            javadoc.insert(indexOfReturnEnd, " " + methodDescription.getReturnType());
         }
 
-        javadoc = fixDoubleReturns(javadoc, indexOfReturn);
-
-        return javadoc;
+        fixDoubleReturns(javadoc, indexOfReturn);
     }
 
-    private String fixDoubleReturns(String javadoc, int indexOfReturn) {
-        int indexOfNextReturnStatement = indexOfReturn + 7;
-        while (true) {
-            indexOfNextReturnStatement = javadoc.indexOf("@return", indexOfNextReturnStatement + 1);
+    // Every next "@return" is removed together with the char before it. Searching continues one char after
+    // the removed statement, the same as it did when the javadoc was rebuilt on each removal.
+    private void fixDoubleReturns(JavadocTree javadoc, int indexOfReturn) {
+        List<Integer> nextReturnStatements = new ArrayList<>();
 
-            if (indexOfNextReturnStatement < 0) {
-                break;
-            }
-
-            javadoc = javadoc.substring(0, indexOfNextReturnStatement - 1) + javadoc.substring(indexOfNextReturnStatement + 7);
+        for (int index = javadoc.indexOfTag("return", indexOfReturn + 8); index >= 0;
+             index = javadoc.indexOfTag("return", index + 9)) {
+            nextReturnStatements.add(index);
         }
 
-        return javadoc;
+        // Removed from the end, so the found indexes stay valid
+        for (int i = nextReturnStatements.size() - 1; i >= 0; i--) {
+            int index = nextReturnStatements.get(i);
+            javadoc.replace(index - 1, index + 7, "");
+        }
     }
 
     @VisibleForTesting
     String fixSelfEnclosingAndEmptyTags(String javadoc) {
-        javadoc = javadoc.replaceAll("<[^\\/>][^>]*><\\/[^>]+>", ""); // <tag></tag> -> ""
+        javadoc = Patterns.EMPTY_TAG.matcher(FileDeadline.guard(javadoc)).replaceAll(""); // <tag></tag> -> ""
 
         // Specific case for <p/>
-        javadoc = javadoc.replaceAll("<p/>", "");
+        javadoc = LiteralReplacer.replaceAll(javadoc, "<p/>", "");
 
-        Pattern pattern = Pattern.compile("<[^>]*?\\/>");
-        Matcher matcher = pattern.matcher(javadoc);
+        // Every tag is fixed where it is matched. Other copies of its text are not replaced along with it, so a later
+        // tag which contains such a copy is still fixed as a whole, e.g. "</b <br/>" after "<br/>" becomes "<b <br>"
+        ForwardRewriter rewriter = new ForwardRewriter(javadoc);
+        Matcher matcher = Patterns.SELF_ENCLOSING_TAG.matcher(FileDeadline.guard(rewriter));
 
         while (matcher.find()) {
             String tag = matcher.group();
-            String fixedTag = tag.replaceAll("\\/", "");
-            javadoc = javadoc.replace(tag, fixedTag);
-            matcher = pattern.matcher(javadoc);
+            String fixedTag = LiteralReplacer.remove(tag, '/');
+            rewriter.replace(matcher.start(), matcher.end(), fixedTag);
+            matcher = Patterns.SELF_ENCLOSING_TAG.matcher(FileDeadline.guard(rewriter));
         }
 
-        return javadoc;
+        return rewriter.result();
     }
 
     @VisibleForTesting
     String fixSelfInventedAnnotations(String javadoc) {
-        Set<String> allowedAnnotations = new HashSet<>(Arrays.asList(
-                "@author", "@version", "@param",
-                "@return", "@deprecated", "@since",
-                "@throws", "@exception", "@see",
-                "@serial", "@serialField", "@serialData",
-                "@link", "@code"
-        ));
-
-        Pattern pattern = Pattern.compile("@+.+?\\b");
-        Matcher matcher = pattern.matcher(javadoc);
+        ForwardRewriter rewriter = new ForwardRewriter(javadoc);
+        JavadocRegionIndex regions = new JavadocRegionIndex(javadoc);
+        Matcher matcher = Patterns.ANNOTATION.matcher(FileDeadline.guard(rewriter));
 
         while (matcher.find()) {
             String annotation = matcher.group();
 
-            if (!allowedAnnotations.contains(annotation) && !ParserUtils.insideTag(javadoc, "a", matcher.start())) {
+            if (!ALLOWED_ANNOTATIONS.contains(annotation)
+                    && !regions.inside(JavadocRegionIndex.Kind.A_TAG, rewriter.rewrittenIndex(matcher.start()))) {
                 String replacement =
                         annotation.substring(1, 2).toUpperCase() + annotation.substring(2);
-                javadoc = javadoc.replaceFirst(ParserUtils.eliminateSpecialChars(annotation), replacement);
-                matcher = pattern.matcher(javadoc);
+                regions.replace(rewriter.rewrittenIndex(matcher.start()), rewriter.rewrittenIndex(matcher.end()),
+                        replacement);
+
+                // The word before the annotation stays in the view, so an annotation joined with it is found again
+                int start = matcher.start();
+                while (start > 0 && (Character.isLetterOrDigit(rewriter.charAt(start - 1))
+                        || rewriter.charAt(start - 1) == '_' || rewriter.charAt(start - 1) == '@')) {
+                    start--;
+                }
+                rewriter.replace(start, matcher.end(), rewriter.subSequence(start, matcher.start()) + replacement);
+                matcher = Patterns.ANNOTATION.matcher(FileDeadline.guard(rewriter));
             }
         }
 
-        return javadoc;
+        return rewriter.result();
     }
 
     @VisibleForTesting
     String fixAmpersands(String javadoc) {
-        return javadoc.replaceAll("(&+|[ ]+&+[ ]+)(?!(?:apos|quot|[gl]t|amp);|#)", " and "); // "&" -> "and"
+        return AMPERSANDS_SCANNER.fix(javadoc); // "&" -> "and"
     }
 
     @VisibleForTesting
     String fixBadUseOfAngleBrackets(String javadoc) {
-        javadoc = javadoc.replaceAll("[ ]+>[ ]+", " greater than ") // ">" -> "greater than"
-                .replaceAll("[ ]+<[ ]+", " less than ") // "<" -> "less than"
-                .replaceAll("[ ]+>=[ ]+", " equal or greater than ") // ">=" -> "equal or greater than"
-                .replaceAll("[ ]+<=[ ]+", " equal or less than ") // "<=" -> "equal or less than"
-                .replaceAll("[-]+>", "---"); // "->" -> "---"
-
-        return javadoc;
+        // ">" -> "greater than", "<" -> "less than", ">=" -> "equal or greater than",
+        // "<=" -> "equal or less than", "->" -> "---"
+        return ANGLE_BRACKETS_SCANNER.fix(javadoc);
     }
 
     @VisibleForTesting
     String fixIncompleteTags(String javadoc) {
-        Pattern pattern = Pattern.compile("&lt;[^<]*?>");
-        Matcher matcher = pattern.matcher(javadoc);
-
-        while (matcher.find()) {
-            String notCorrectlyClosedTag = matcher.group();
-            String fixedTag = notCorrectlyClosedTag.replaceAll(">", "&gt;");
-            javadoc = javadoc.replaceFirst(ParserUtils.eliminateSpecialChars(notCorrectlyClosedTag), fixedTag);
-        }
-
-        return javadoc;
+        return INCOMPLETE_TAGS_SCANNER.fix(javadoc); // "&lt;tag>" -> "&lt;tag&gt;"
     }
 
     @VisibleForTesting
     String fixGenerics(String javadoc) {
-        Pattern pattern = Pattern.compile("[A-Z]+[A-Za-z0-9]*[ ]?[<].*?[>]");
-        Matcher matcher = pattern.matcher(javadoc);
+        ForwardRewriter rewriter = new ForwardRewriter(javadoc);
+        JavadocRegionIndex regions = new JavadocRegionIndex(javadoc);
+        Matcher matcher = Patterns.GENERICS.matcher(FileDeadline.guard(rewriter));
 
         while (matcher.find()) {
             String generics = matcher.group();
@@ -345,16 +583,17 @@ public class JavadocFixingHandler {
             int paramsEnd = generics.lastIndexOf(">");
 
             String classType = generics.substring(0, paramsStart);
-            String[] params = generics.substring(paramsStart + 1, paramsEnd).split(",|, ");
+            String[] params = Patterns.GENERICS_PARAMS_SEPARATOR.split(generics.substring(paramsStart + 1, paramsEnd));
 
             String replacement = null;
             boolean replacementReady = false;
 
+            int rewrittenIndex = rewriter.rewrittenIndex(matcher.start());
             boolean removeGenericsAtAllArea =
-                    ParserUtils.insideBlock(javadoc, "@link", matcher.start()) ||
-                            ParserUtils.insideBlock(javadoc, "@code", matcher.start()) ||
-                            ParserUtils.insideTag(javadoc, "code", matcher.start()) ||
-                            ParserUtils.afterWordInOneLine(javadoc, "@see", matcher.start());
+                    regions.inside(JavadocRegionIndex.Kind.LINK_BLOCK, rewrittenIndex) ||
+                            regions.inside(JavadocRegionIndex.Kind.CODE_BLOCK, rewrittenIndex) ||
+                            regions.inside(JavadocRegionIndex.Kind.CODE_TAG, rewrittenIndex) ||
+                            regions.inside(JavadocRegionIndex.Kind.SEE_LINE, rewrittenIndex);
 
             if (removeGenericsAtAllArea) {
                 replacement = classType;
@@ -389,9 +628,11 @@ public class JavadocFixingHandler {
                 }
             }
 
-            javadoc = javadoc.replaceFirst(ParserUtils.eliminateSpecialChars(generics), replacement);
-            matcher = pattern.matcher(javadoc);
+            // A replacement may consume a part of "<code>" or "{@link", so the regions follow the rewritten text
+            regions.replace(rewrittenIndex, rewriter.rewrittenIndex(matcher.end()), replacement);
+            rewriter.replace(matcher.start(), matcher.end(), replacement);
+            matcher = Patterns.GENERICS.matcher(FileDeadline.guard(rewriter));
         }
-        return javadoc;
+        return rewriter.result();
     }
 }
@@ -0,0 +1,219 @@
+package logic;
+
+import java.util.Arrays;
+import java.util.regex.Matcher;
+
+// Spans of a javadoc where the fixing rules behave differently, found once per javadoc and kept up to date while the
+// javadoc is changed. Spans of every kind are ordered by both start and end, so "is the index inside a span" is
+// answered with a binary search.
+final class JavadocRegionIndex {
+
+    enum Kind {
+        LINK_BLOCK, CODE_BLOCK, CODE_TAG, A_TAG, SEE_LINE
+    }
+
+    private final StringBuilder javadoc;
+    private final Spans[] spans = new Spans[Kind.values().length];
+
+    JavadocRegionIndex(String javadoc) {
+        this.javadoc = new StringBuilder(javadoc);
+    }
+
+    boolean inside(Kind kind, int index) {
+        Spans kindSpans = spans[kind.ordinal()];
+
+        if (kindSpans == null) {
+            kindSpans = build(kind);
+            spans[kind.ordinal()] = kindSpans;
+        }
+
+        return kindSpans.contains(index);
+    }
+
+    // Tags can't take more than a line, so they are found again on the changed lines only. Spans of the other kinds
+    // are moved when the change doesn't touch their marks and are found again on the next query otherwise.
+    void replace(int start, int end, String replacement) {
+        int delta = replacement.length() - (end - start);
+        String removedWindow = window(start, end);
+        javadoc.replace(start, end, replacement);
+        String insertedWindow = window(start, start + replacement.length());
+
+        for (Kind kind : Kind.values()) {
+            Spans kindSpans = spans[kind.ordinal()];
+            if (kindSpans == null) {
+                continue;
+            }
+
+            if (kind == Kind.CODE_TAG || kind == Kind.A_TAG) {
+                int lineStart = javadoc.lastIndexOf("\n", start - 1) + 1;
+                int lineEnd = javadoc.indexOf("\n", start + replacement.length());
+                if (lineEnd < 0) {
+                    lineEnd = javadoc.length();
+                }
+
+                Spans lineSpans = tags(javadoc.substring(lineStart, lineEnd), kind == Kind.CODE_TAG ? "code" : "a");
+                kindSpans.replace(lineStart, lineEnd - delta, delta, lineSpans);
+            } else if (touchesMarks(kind, removedWindow) || touchesMarks(kind, insertedWindow)) {
+                spans[kind.ordinal()] = null;
+            } else {
+                kindSpans.replace(start, end, delta, new Spans());
+            }
+        }
+    }
+
+    // Changed text with the chars around it which may form a mark together with it
+    private String window(int start, int end) {
+        return javadoc.substring(Math.max(start - 4, 0), Math.min(end + 4, javadoc.length()));
+    }
+
+    private static boolean touchesMarks(Kind kind, String text) {
+        switch (kind) {
+            case LINK_BLOCK:
+                return text.contains("@link") || text.contains("}");
+            case CODE_BLOCK:
+                return text.contains("@code") || text.contains("}");
+            case SEE_LINE:
+                return text.contains("@see") || text.contains("\n");
+            default:
+                throw new IllegalArgumentException("Tags are found again on the changed lines: " + kind);
+        }
+    }
+
+    private Spans build(Kind kind) {
+        switch (kind) {
+            case LINK_BLOCK:
+                return untilNext(javadoc, "@link", "}");
+            case CODE_BLOCK:
+                return untilNext(javadoc, "@code", "}");
+            case CODE_TAG:
+                return tags(javadoc, "code");
+            case A_TAG:
+                return tags(javadoc, "a");
+            case SEE_LINE:
+                return untilNext(javadoc, "@see", "\n");
+            default:
+                throw new IllegalArgumentException("Unknown region kind: " + kind);
+        }
+    }
+
+    // Every occurrence of start opens a span which ends at the closest end after it
+    static Spans untilNext(CharSequence javadoc, String start, String end) {
+        String text = javadoc.toString();
+        Spans result = new Spans();
+        int spanEnd = -1;
+
+        for (int spanStart = text.indexOf(start); spanStart >= 0; spanStart = text.indexOf(start, spanStart + 1)) {
+            if (spanEnd < spanStart + 1) {
+                spanEnd = text.indexOf(end, spanStart + 1);
+            }
+            if (spanEnd < 0) {
+                break;
+            }
+            result.add(spanStart, spanEnd);
+        }
+
+        return result;
+    }
+
+    // N-th opening tag is paired with the n-th closing one
+    static Spans tags(CharSequence text, String tag) {
+        Spans result = new Spans();
+        Matcher startTagMatcher = Patterns.get("<" + tag + ".*?>").matcher(FileDeadline.guard(text));
+        Matcher endTagMatcher = Patterns.get("</" + tag).matcher(FileDeadline.guard(text));
+
+        while (startTagMatcher.find()) {
+            result.starts.add(startTagMatcher.start());
+        }
+        while (endTagMatcher.find()) {
+            result.ends.add(endTagMatcher.start());
+        }
+
+        return result;
+    }
+
+    // Starts and ends are kept apart, the n-th start is paired with the n-th end
+    static final class Spans {
+        private final Offsets starts = new Offsets();
+        private final Offsets ends = new Offsets();
+
+        private void add(int start, int end) {
+            starts.add(start);
+            ends.add(end);
+        }
+
+        // Starts and ends in [from, to) are replaced by the inserted ones moved by from, the following ones are
+        // moved by delta
+        private void replace(int from, int to, int delta, Spans inserted) {
+            starts.replace(from, to, delta, inserted.starts);
+            ends.replace(from, to, delta, inserted.ends);
+        }
+
+        // Ends grow with starts, so only the last span started before the index has to be checked
+        boolean contains(int index) {
+            int size = Math.min(starts.size, ends.size);
+            int low = 0;
+            int high = size - 1;
+            int last = -1;
+
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                if (starts.values[middle] < index) {
+                    last = middle;
+                    low = middle + 1;
+                } else {
+                    high = middle - 1;
+                }
+            }
+
+            return last >= 0 && ends.values[last] > index;
+        }
+    }
+
+    private static final class Offsets {
+        private int[] values = new int[8];
+        private int size;
+
+        private void add(int offset) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = offset;
+        }
+
+        // Index of the first offset which is not less than the given one
+        private int firstFrom(int offset) {
+            int low = 0;
+            int high = size;
+
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (values[middle] < offset) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+
+            return low;
+        }
+
+        private void replace(int from, int to, int delta, Offsets inserted) {
+            int first = firstFrom(from);
+            int last = firstFrom(to);
+            int newSize = size - (last - first) + inserted.size;
+
+            if (newSize > values.length) {
+                values = Arrays.copyOf(values, Math.max(newSize, values.length * 2));
+            }
+
+            System.arraycopy(values, last, values, first + inserted.size, size - last);
+            for (int i = 0; i < inserted.size; i++) {
+                values[first + i] = inserted.values[i] + from;
+            }
+            for (int i = first + inserted.size; i < newSize; i++) {
+                values[i] += delta;
+            }
+            size = newSize;
+        }
+    }
+}
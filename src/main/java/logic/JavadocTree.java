@@ -0,0 +1,362 @@
+package logic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Javadoc parsed once into the parts the entity rules work with: block tags ("@param x"), brackets of inline tags
+// ("{@code x}") and the comment end, each with its offset. Rules read the parts and change the javadoc through the
+// tree, which keeps the offsets up to date instead of scanning the text again, and the text is printed once.
+final class JavadocTree {
+
+    private final StringBuilder text;
+    private final Offsets tagMarks = new Offsets();
+    private final Offsets inlineTagStarts = new Offsets();
+    private final Offsets inlineTagEnds = new Offsets();
+    private final Offsets commentEnds = new Offsets();
+    // Block tags returned by the last query, their offsets follow the changes
+    private List<BlockTag> blockTags = Collections.emptyList();
+    private int modifications;
+
+    private JavadocTree(String javadoc) {
+        this.text = new StringBuilder(javadoc);
+
+        for (int i = 0; i < javadoc.length(); i++) {
+            indexChar(javadoc.charAt(i), i, tagMarks, inlineTagStarts, inlineTagEnds);
+            if (isCommentEnd(i)) {
+                commentEnds.add(i);
+            }
+        }
+    }
+
+    static JavadocTree parse(String javadoc) {
+        return new JavadocTree(javadoc);
+    }
+
+    static final class BlockTag {
+        private final String statement;
+        private int start;
+        private int end;
+        private boolean removed;
+
+        private BlockTag(int start, int end, String statement) {
+            this.start = start;
+            this.end = end;
+            this.statement = statement;
+        }
+
+        // Text of the tag till the end of its line, as it was when the tag was found
+        String getStatement() {
+            return statement;
+        }
+    }
+
+    // Same as the matches of "[@]<name>\s.*": a tag inside the statement of the previous one doesn't count
+    List<BlockTag> blockTags(String name) {
+        List<BlockTag> result = new ArrayList<>();
+        int previousEnd = 0;
+
+        for (int i = 0; i < tagMarks.size(); i++) {
+            int start = tagMarks.get(i);
+            int nameEnd = start + 1 + name.length();
+
+            if (start < previousEnd || nameEnd >= text.length() || !startsWith(name, start + 1)
+                    || !isWhitespace(text.charAt(nameEnd))) {
+                continue;
+            }
+
+            int end = lineEnd(nameEnd + 1);
+            result.add(new BlockTag(start, end, text.substring(start, end)));
+            previousEnd = end;
+        }
+
+        blockTags = result;
+        return result;
+    }
+
+    // Same as contains("@" + name)
+    boolean hasTag(String name) {
+        return indexOfTag(name, 0) >= 0;
+    }
+
+    // Same as indexOf("@" + name, from)
+    int indexOfTag(String name, int from) {
+        for (int i = tagMarks.firstFrom(from); i < tagMarks.size(); i++) {
+            if (startsWith(name, tagMarks.get(i) + 1)) {
+                return tagMarks.get(i);
+            }
+        }
+        return -1;
+    }
+
+    // Same as indexOf("* @" + name)
+    int indexOfTagLine(String name) {
+        for (int i = 0; i < tagMarks.size(); i++) {
+            int start = tagMarks.get(i);
+            if (start >= 2 && text.charAt(start - 1) == ' ' && text.charAt(start - 2) == '*'
+                    && startsWith(name, start + 1)) {
+                return start - 2;
+            }
+        }
+        return -1;
+    }
+
+    // Index of the first "*/", -1 if there is none
+    int commentEnd() {
+        return commentEnds.size() == 0 ? -1 : commentEnds.get(0);
+    }
+
+    // Index of the first '@', -1 when it is inside an inline tag. The n-th '{' is paired with the n-th '}', both
+    // starting over after the last one, and the '@' counts as inside when a pair holds the first '@' after its '{'
+    int firstTagOutsideInlineTags() {
+        int startIndex = 0;
+        int endIndex = 0;
+
+        while (true) {
+            int start = startIndex < inlineTagStarts.size() ? inlineTagStarts.get(startIndex) : -1;
+            int end = endIndex < inlineTagEnds.size() ? inlineTagEnds.get(endIndex) : -1;
+            int firstMark = tagMarks.firstFrom(start + 1);
+            int tagMark = firstMark < tagMarks.size() ? tagMarks.get(firstMark) : -1;
+
+            if (start < 0 && end < 0) {
+                return tagMark;
+            }
+            if (start < tagMark && tagMark < end) {
+                return -1;
+            }
+
+            startIndex = (startIndex + 1) % (inlineTagStarts.size() + 1);
+            endIndex = (endIndex + 1) % (inlineTagEnds.size() + 1);
+        }
+    }
+
+    // Same as RETURN_WITHOUT_DESCRIPTION matching the javadoc from the "@return" tag at the index: there are only
+    // non-word chars between the tag and a '*' which is not followed by any '$'
+    boolean tagWithoutDescription(int tagMark, String name) {
+        int lastStar = -1;
+
+        for (int i = tagMark + 1 + name.length(); i < text.length() && !isWordChar(text.charAt(i)); i++) {
+            if (text.charAt(i) == '*') {
+                lastStar = i;
+            }
+        }
+
+        return lastStar >= 0 && text.indexOf("$", lastStar + 1) < 0;
+    }
+
+    void insert(int index, String insertion) {
+        replace(index, index, insertion);
+    }
+
+    void replace(BlockTag tag, String replacement) {
+        if (!tag.removed) {
+            replace(tag.start, tag.end, replacement);
+        }
+    }
+
+    // Replaces the first occurrence of the target inside the tag
+    void replaceInside(BlockTag tag, String target, String replacement) {
+        if (tag.removed) {
+            return;
+        }
+
+        int index = text.substring(tag.start, tag.end).indexOf(target);
+        if (index >= 0) {
+            replace(tag.start + index, tag.start + index + target.length(), replacement);
+        }
+    }
+
+    // Removes the tag together with the javadoc line prefix ("\n     * ") before it. The tag stays if there is no
+    // '*' before it with a line break before that '*', the same way as the "[\n].*?[*][^*]*?" prefix regex does.
+    void removeLine(BlockTag tag) {
+        if (tag.removed) {
+            return;
+        }
+
+        int indexOfStar = text.lastIndexOf("*", tag.start - 1);
+        if (indexOfStar < 0) {
+            return;
+        }
+
+        int indexOfLineBegin = text.lastIndexOf("\n", indexOfStar - 1);
+        if (indexOfLineBegin < 0) {
+            return;
+        }
+
+        replace(indexOfLineBegin, tag.end, "");
+    }
+
+    // For the rare changes which are not expressed by the parts
+    void removeAll(Pattern pattern) {
+        List<int[]> matches = new ArrayList<>();
+        Matcher matcher = pattern.matcher(FileDeadline.guard(text));
+
+        while (matcher.find()) {
+            matches.add(new int[]{matcher.start(), matcher.end()});
+        }
+
+        for (int i = matches.size() - 1; i >= 0; i--) {
+            replace(matches.get(i)[0], matches.get(i)[1], "");
+        }
+    }
+
+    void replace(int start, int end, String replacement) {
+        if (end - start == replacement.length() && startsWith(replacement, start)) {
+            return;
+        }
+
+        int delta = replacement.length() - (end - start);
+        text.replace(start, end, replacement);
+        modifications++;
+
+        Offsets insertedTagMarks = new Offsets();
+        Offsets insertedInlineTagStarts = new Offsets();
+        Offsets insertedInlineTagEnds = new Offsets();
+        for (int i = 0; i < replacement.length(); i++) {
+            indexChar(replacement.charAt(i), start + i, insertedTagMarks, insertedInlineTagStarts,
+                    insertedInlineTagEnds);
+        }
+        tagMarks.replace(start, end, delta, insertedTagMarks);
+        inlineTagStarts.replace(start, end, delta, insertedInlineTagStarts);
+        inlineTagEnds.replace(start, end, delta, insertedInlineTagEnds);
+
+        // "*/" takes two chars, so the ones crossing the borders of the change are found again
+        int windowStart = Math.max(start - 1, 0);
+        Offsets insertedCommentEnds = new Offsets();
+        for (int i = windowStart; i < start + replacement.length(); i++) {
+            if (isCommentEnd(i)) {
+                insertedCommentEnds.add(i);
+            }
+        }
+        commentEnds.replace(windowStart, end, delta, insertedCommentEnds);
+
+        for (BlockTag tag : blockTags) {
+            if (tag.start >= end) {
+                tag.start += delta;
+                tag.end += delta;
+            } else if (tag.end <= start) {
+                continue;
+            } else if (start >= tag.start && end <= tag.end) {
+                tag.end += delta;
+            } else {
+                tag.removed = true;
+            }
+        }
+    }
+
+    int getModifications() {
+        return modifications;
+    }
+
+    @Override
+    public String toString() {
+        return text.toString();
+    }
+
+    private static void indexChar(char c, int index, Offsets tagMarks, Offsets inlineTagStarts,
+                                  Offsets inlineTagEnds) {
+        if (c == '@') {
+            tagMarks.add(index);
+        } else if (c == '{') {
+            inlineTagStarts.add(index);
+        } else if (c == '}') {
+            inlineTagEnds.add(index);
+        }
+    }
+
+    private boolean isCommentEnd(int index) {
+        return index + 1 < text.length() && text.charAt(index) == '*' && text.charAt(index + 1) == '/';
+    }
+
+    private boolean startsWith(String prefix, int index) {
+        if (index + prefix.length() > text.length()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (text.charAt(index + i) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // "." doesn't match line terminators
+    private int lineEnd(int from) {
+        for (int i = from; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+                return i;
+            }
+        }
+        return text.length();
+    }
+
+    // \s
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    // \w
+    private static boolean isWordChar(char c) {
+        return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9' || c == '_';
+    }
+
+    // Sorted offsets of one kind of the parts
+    private static final class Offsets {
+        private int[] values = new int[8];
+        private int size;
+
+        private void add(int offset) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = offset;
+        }
+
+        private int size() {
+            return size;
+        }
+
+        private int get(int index) {
+            return values[index];
+        }
+
+        // Index of the first offset which is not less than the given one
+        private int firstFrom(int offset) {
+            int low = 0;
+            int high = size;
+
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (values[middle] < offset) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+
+            return low;
+        }
+
+        // Offsets in [start, end) are replaced by the inserted ones, the following ones are moved by delta
+        private void replace(int start, int end, int delta, Offsets inserted) {
+            int from = firstFrom(start);
+            int to = firstFrom(end);
+            int newSize = size - (to - from) + inserted.size;
+
+            if (newSize > values.length) {
+                values = Arrays.copyOf(values, Math.max(newSize, values.length * 2));
+            }
+
+            System.arraycopy(values, to, values, from + inserted.size, size - to);
+            System.arraycopy(inserted.values, 0, values, from, inserted.size);
+            for (int i = from + inserted.size; i < newSize; i++) {
+                values[i] += delta;
+            }
+            size = newSize;
+        }
+    }
+}
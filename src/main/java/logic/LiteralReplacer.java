@@ -0,0 +1,57 @@
+package logic;
+
+// Find and replace of fixed strings. Unlike String.replaceFirst, the target is not a regex and the replacement
+// is inserted as is, so '$' and '\' in javadoc text need no escaping.
+final class LiteralReplacer {
+
+    private LiteralReplacer() {
+    }
+
+    static String replaceFirst(String text, String target, String replacement) {
+        int index = text.indexOf(target);
+
+        if (index < 0) {
+            return text;
+        }
+
+        return new StringBuilder(text.length() - target.length() + replacement.length())
+                .append(text, 0, index)
+                .append(replacement)
+                .append(text, index + target.length(), text.length())
+                .toString();
+    }
+
+    static String replaceAll(String text, String target, String replacement) {
+        int index = text.indexOf(target);
+
+        if (index < 0) {
+            return text;
+        }
+
+        StringBuilder result = new StringBuilder(text.length());
+        int copiedUntil = 0;
+
+        while (index >= 0) {
+            result.append(text, copiedUntil, index).append(replacement);
+            copiedUntil = index + target.length();
+            index = text.indexOf(target, copiedUntil);
+        }
+
+        return result.append(text, copiedUntil, text.length()).toString();
+    }
+
+    static String remove(String text, char removed) {
+        if (text.indexOf(removed) < 0) {
+            return text;
+        }
+
+        StringBuilder result = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) != removed) {
+                result.append(text.charAt(i));
+            }
+        }
+
+        return result.toString();
+    }
+}
@@ -0,0 +1,108 @@
+package logic;
+
+import custom.VisibleForTesting;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.DoubleSupplier;
+
+public class MemoryAwareConcurrencyController {
+
+    private static final double LOW_HEAP_USAGE = 0.6;
+    private static final double HIGH_HEAP_USAGE = 0.85;
+    private static final long HEAP_RECHECK_INTERVAL_MILLIS = 50;
+
+    private final int maxInFlight;
+    private final DoubleSupplier heapUsage;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition slotReleased = lock.newCondition();
+    private int inFlight;
+
+    public MemoryAwareConcurrencyController(int maxInFlight) {
+        this(maxInFlight, heapUsageAfterCollection());
+    }
+
+    @VisibleForTesting
+    MemoryAwareConcurrencyController(int maxInFlight, DoubleSupplier heapUsage) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("Max in-flight files count should be positive");
+        }
+        this.maxInFlight = maxInFlight;
+        this.heapUsage = heapUsage;
+    }
+
+    public void acquire() throws InterruptedException {
+        lock.lock();
+        try {
+            while (inFlight >= currentLimit()) {
+                // Heap usage changes without any notification, so the limit is re-evaluated periodically
+                slotReleased.await(HEAP_RECHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+            }
+            inFlight++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void release() {
+        lock.lock();
+        try {
+            inFlight--;
+            slotReleased.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @VisibleForTesting
+    int currentLimit() {
+        double usage = heapUsage.getAsDouble();
+
+        if (usage <= LOW_HEAP_USAGE) {
+            return maxInFlight;
+        }
+        if (usage >= HIGH_HEAP_USAGE) {
+            return 1;
+        }
+
+        double pressure = (usage - LOW_HEAP_USAGE) / (HIGH_HEAP_USAGE - LOW_HEAP_USAGE);
+        return Math.max(1, (int) Math.round(maxInFlight - (maxInFlight - 1) * pressure));
+    }
+
+    // Share of the heap which was still used after the last collection of every heap pool. The current usage also
+    // counts the garbage which is not collected yet, and it goes past the high usage before every young collection.
+    // Pools which don't report the usage after a collection are counted with their current usage.
+    @VisibleForTesting
+    static DoubleSupplier heapUsageAfterCollection() {
+        MemoryMXBean memoryMXBean = ManagementFactory.getMemoryMXBean();
+        List<MemoryPoolMXBean> heapPools = new ArrayList<>();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                heapPools.add(pool);
+            }
+        }
+
+        return () -> {
+            MemoryUsage heap = memoryMXBean.getHeapMemoryUsage();
+            long max = heap.getMax() > 0 ? heap.getMax() : heap.getCommitted();
+            long used = 0;
+
+            for (MemoryPoolMXBean pool : heapPools) {
+                if (!pool.isValid()) {
+                    continue;
+                }
+                MemoryUsage collectionUsage = pool.getCollectionUsage();
+                used += collectionUsage != null ? collectionUsage.getUsed() : pool.getUsage().getUsed();
+            }
+            return (double) used / max;
+        };
+    }
+}
@@ -1,124 +1,28 @@
 package logic;
 
+import entity.Param;
+
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 public class ParserUtils {
 
-    static boolean insideBlock(String javadoc, String blockType, int index) {
-        int indexOfBlockTypeStartInsideJavadoc = -1;
-
-        while (true) {
-            indexOfBlockTypeStartInsideJavadoc = javadoc.indexOf(blockType, indexOfBlockTypeStartInsideJavadoc + 1);
-            int indexOfBlockTypeEndInsideJavadoc = javadoc.indexOf("}", indexOfBlockTypeStartInsideJavadoc + 1);
-
-            if (indexOfBlockTypeStartInsideJavadoc < 0 || indexOfBlockTypeEndInsideJavadoc < 0) {
-                return false;
-            }
-
-            if (index > indexOfBlockTypeStartInsideJavadoc && index < indexOfBlockTypeEndInsideJavadoc) {
-                return true;
-            }
-        }
-    }
-
-    static int indexOfFirstOutsideCurlyBrackets(String javadoc, String statement) {
-        int indexOfStartCurlyBracket = -1;
-        int indexOfEndCurlyBracket = -1;
-        int indexOfStatement;
-        while (true) {
-            indexOfStartCurlyBracket = javadoc.indexOf("{", indexOfStartCurlyBracket + 1);
-            indexOfEndCurlyBracket = javadoc.indexOf("}", indexOfEndCurlyBracket + 1);
-            indexOfStatement = javadoc.indexOf(statement, indexOfStartCurlyBracket + 1);
-
-            if (indexOfStartCurlyBracket < 0 && indexOfEndCurlyBracket < 0) {
-                return indexOfStatement;
-            }
-
-            if (indexOfStartCurlyBracket < indexOfStatement && indexOfStatement < indexOfEndCurlyBracket) {
-                return -1;
-            }
-        }
-    }
-
-    static boolean insideTag(String javadoc, String tag, int index) {
-        Pattern startTagPattern = Pattern.compile("<" + tag + ".*?>");
-        Pattern endTagPattern = Pattern.compile("</" + tag + "");
-
-        Matcher startTagMatcher = startTagPattern.matcher(javadoc);
-        Matcher endTagMatcher = endTagPattern.matcher(javadoc);
-
-        while (startTagMatcher.find() && endTagMatcher.find()) {
-            if (endTagMatcher.start() > startTagMatcher.start() &&
-                    endTagMatcher.start() > index && startTagMatcher.start() < index) {
-                return true;
-            }
-        }
-
-        return false;
-    }
-
-    static boolean afterWordInOneLine(String javadoc, String word, int index) {
-        int indexOfWordStart = -1;
-
-        while (true) {
-            indexOfWordStart = javadoc.indexOf(word, indexOfWordStart + 1);
-            int indexOfNewLine = javadoc.indexOf("\n", indexOfWordStart + 1);
-
-            if (indexOfWordStart < 0 || indexOfNewLine < 0) {
-                return false;
-            }
-
-            if (index > indexOfWordStart && index < indexOfNewLine) {
-                return true;
-            }
-        }
-    }
-
-    static String eliminateSpecialChars(String regex) {
-        String result = "";
-        for (int i = 0; i < regex.length(); i++) {
-            if (regex.charAt(i) == ']' || regex.charAt(i) == '[') {
-                result += "[\\" + regex.charAt(i) + "]";
-            } else {
-                result += "[" + regex.charAt(i) + "]";
-            }
-        }
-
-        return result;
-    }
-
     static boolean noGenerics(String generics) {
-        return generics.matches(".*</.+?>.*");
+        return Patterns.CLOSING_TAG_INSIDE.matcher(FileDeadline.guard(generics)).matches();
     }
 
     static String skipJavaAnnotations(String data) {
-        data = data.replaceAll("[@][A-Za-z0-9].*?[(].*?[)]\\s", "");
-        data = data.replaceAll("[@][A-Za-z0-9].*?\\s", "");
+        data = Patterns.ANNOTATION_WITH_ARGUMENTS.matcher(FileDeadline.guard(data)).replaceAll("");
+        data = Patterns.ANNOTATION_WITHOUT_ARGUMENTS.matcher(FileDeadline.guard(data)).replaceAll("");
         return data;
     }
 
     static String skipNewLines(String data) {
-        return data.replaceAll("[\\n]", "");
+        return LiteralReplacer.remove(data, '\n');
     }
 
     static String skipEmptyLines(String data) {
-        return data.replaceAll("[\\n][\\s]*?[\\n]", "\n");
-    }
-
-    static List<String> getStatements(String javadoc, String statement) {
-        List<String> statementsList = new ArrayList<>();
-        Pattern pattern = Pattern.compile("[@]" + statement + "\\s.*");
-        Matcher matcher = pattern.matcher(javadoc);
-
-        while (matcher.find()) {
-            statementsList.add(matcher.group());
-        }
-
-        return statementsList;
+        return Patterns.EMPTY_LINE.matcher(FileDeadline.guard(data)).replaceAll("\n");
     }
 
     static List<String> completeGenerics(String[] input) {
@@ -146,30 +50,78 @@ public class ParserUtils {
         return result;
     }
 
-    private static String resolveSeparator(String before, String after) {
+    static String resolveSeparator(String before, String after) {
         return (before.charAt(before.length() - 1) == ',')
                 || (after.contains(",") && !after.contains(">"))
-                || (after.matches("[a-z_]+.*?"))
+                || (Patterns.LOWERCASE_WORD_START.matcher(after).matches())
                 ? " " : ", ";
     }
 
 
-    static List<List<String>> convertParams(List<String> params) {
-        List<List<String>> methodParams = new ArrayList<>();
-        for (String param : params) {
-            List<String> paramList = (new ArrayList<>(completeGenerics(param.split(" "))));
-            if (paramList.size() == 3) {
-                if (paramList.get(0).equals("final")) {
-                    methodParams.add(paramList.subList(1, 3));
-                } else {
-                    String paramType = String.join("", paramList.subList(0, paramList.size() - 1));
-                    methodParams.add(Arrays.asList(paramType, paramList.get(paramList.size() - 1)));
+    // Same as splitting the declaration by spaces which are not inside generics, then "final" before the type is
+    // skipped and a type split by a space ("List <String> list") is joined. A type glued to the name
+    // ("List<String>list") is split after its generics, null is returned when there is no name.
+    static Param toParam(String declaration) {
+        String[] words = new String[3];
+        int wordsCount = 0;
+        String word = null;
+        int bracketsBalance = 0;
+        int wordStart = 0;
+
+        while (true) {
+            int wordEnd = declaration.indexOf(' ', wordStart);
+            boolean lastWord = wordEnd < 0;
+            String part = declaration.substring(wordStart, lastWord ? declaration.length() : wordEnd);
+
+            word = word == null ? part : word + resolveSeparator(word, part) + part.trim();
+            bracketsBalance += bracketsBalance(part);
+
+            if (bracketsBalance <= 0 || lastWord) {
+                if (wordsCount < words.length) {
+                    words[wordsCount] = word;
                 }
-            } else {
-                methodParams.add(paramList.subList(0, 2));
+                wordsCount++;
+                word = null;
+                bracketsBalance = 0;
+            }
+
+            if (lastWord) {
+                break;
+            }
+            wordStart = wordEnd + 1;
+        }
+
+        if (wordsCount == 3) {
+            return words[0].equals("final")
+                    ? new Param(words[1], words[2], true)
+                    : new Param(words[0] + words[1], words[2]);
+        }
+        if (wordsCount > 1) {
+            return new Param(words[0], words[1]);
+        }
+        return splitGluedName(words[0]);
+    }
+
+    private static Param splitGluedName(String word) {
+        int typeEnd = Math.max(Math.max(word.lastIndexOf('>'), word.lastIndexOf(']')) + 1,
+                word.lastIndexOf("...") >= 0 ? word.lastIndexOf("...") + 3 : 0);
+
+        if (typeEnd == 0 || typeEnd == word.length()) {
+            return null;
+        }
+        return new Param(word.substring(0, typeEnd), word.substring(typeEnd));
+    }
+
+    static int bracketsBalance(String text) {
+        int balance = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '<') {
+                balance++;
+            } else if (text.charAt(i) == '>') {
+                balance--;
             }
         }
-        return methodParams;
+        return balance;
     }
 
 }
@@ -0,0 +1,48 @@
+package logic;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+// Registry of the regular expressions used by the parsers and the fixing rules. Every pattern is compiled once;
+// patterns which depend on parsed names are compiled on the first use and cached.
+final class Patterns {
+
+    private static final int DYNAMIC_PATTERNS_CACHE_LIMIT = 4096;
+    private static final Map<String, Pattern> DYNAMIC_PATTERNS = new ConcurrentHashMap<>();
+
+    static final Pattern WHITESPACE = Pattern.compile("\\s");
+    static final Pattern LINE_BEGIN_RETURN_STATEMENT = Pattern.compile("[\\n].*?[*][^*]*?[@]return.*");
+    static final Pattern RETURN_WITHOUT_DESCRIPTION = Pattern.compile("@return[^\\w]*?[*][^$]*");
+
+    static final Pattern EMPTY_TAG = Pattern.compile("<[^\\/>][^>]*><\\/[^>]+>");
+    static final Pattern SELF_ENCLOSING_TAG = Pattern.compile("<[^>]*?\\/>");
+    static final Pattern ANNOTATION = Pattern.compile("@+.+?\\b");
+    static final Pattern GENERICS = Pattern.compile("[A-Z]+[A-Za-z0-9]*[ ]?[<].*?[>]");
+    static final Pattern GENERICS_PARAMS_SEPARATOR = Pattern.compile(",|, ");
+    static final Pattern CLOSING_TAG_INSIDE = Pattern.compile(".*</.+?>.*");
+
+    static final Pattern ANNOTATION_WITH_ARGUMENTS = Pattern.compile("[@][A-Za-z0-9].*?[(].*?[)]\\s");
+    static final Pattern ANNOTATION_WITHOUT_ARGUMENTS = Pattern.compile("[@][A-Za-z0-9].*?\\s");
+    static final Pattern EMPTY_LINE = Pattern.compile("[\\n][\\s]*?[\\n]");
+    static final Pattern LOWERCASE_WORD_START = Pattern.compile("[a-z_]+.*?");
+
+    static final Pattern CLOSING_PARENTHESIS_OR_COMMA = Pattern.compile("\\)|[,]");
+
+    private Patterns() {
+    }
+
+    static Pattern get(String regex) {
+        Pattern pattern = DYNAMIC_PATTERNS.get(regex);
+
+        if (pattern == null) {
+            if (DYNAMIC_PATTERNS.size() >= DYNAMIC_PATTERNS_CACHE_LIMIT) {
+                DYNAMIC_PATTERNS.clear();
+            }
+            pattern = Pattern.compile(regex);
+            DYNAMIC_PATTERNS.put(regex, pattern);
+        }
+
+        return pattern;
+    }
+}
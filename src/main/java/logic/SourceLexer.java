@@ -0,0 +1,166 @@
+package logic;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class SourceLexer {
+
+    private enum State {
+        CODE, LINE_COMMENT, BLOCK_COMMENT, JAVADOC, STRING, CHAR, TEXT_BLOCK
+    }
+
+    static class JavadocBlock {
+        private final int start;
+        private final int end;
+        private int declarationEnd = -1;
+
+        JavadocBlock(int start, int end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        JavadocBlock(int start, int end, int declarationEnd) {
+            this(start, end);
+            this.declarationEnd = declarationEnd;
+        }
+
+        int getStart() {
+            return start;
+        }
+
+        // Index right after the closing "*/"
+        int getEnd() {
+            return end;
+        }
+
+        // Index of the first '{' or ';' in code after the javadoc, -1 if there is none
+        int getDeclarationEnd() {
+            return declarationEnd;
+        }
+    }
+
+    // Receives the positions found by the lexer, all of them are indexes in the lexed source
+    interface Listener {
+        void javadocStarted(int start);
+
+        // End is the index right after the closing "*/"
+        void javadocEnded(int end);
+
+        // Index of a '{' or ';' in code
+        void declarationEnded(int index);
+    }
+
+    // The lexer may look up to this number of chars ahead of the current one
+    static final int MAX_LOOKAHEAD = 3;
+
+    private State state = State.CODE;
+
+    static List<JavadocBlock> indexJavadocs(CharSequence source) {
+        List<JavadocBlock> javadocs = new ArrayList<>();
+
+        new SourceLexer().advance(source, 0, source.length(), true, new Listener() {
+            private int firstPendingDeclaration;
+            private int javadocStart;
+
+            @Override
+            public void javadocStarted(int start) {
+                javadocStart = start;
+            }
+
+            @Override
+            public void javadocEnded(int end) {
+                javadocs.add(new JavadocBlock(javadocStart, end));
+            }
+
+            @Override
+            public void declarationEnded(int index) {
+                for (int j = firstPendingDeclaration; j < javadocs.size(); j++) {
+                    javadocs.get(j).declarationEnd = index;
+                }
+                firstPendingDeclaration = javadocs.size();
+            }
+        });
+
+        return javadocs;
+    }
+
+    // Lexes the source from the given index, the state is kept between calls, so a source can be lexed chunk by
+    // chunk. Unless the chunk is the last one, lexing stops where the lookahead would go beyond the end; the index
+    // to continue from is returned.
+    int advance(CharSequence source, int from, int length, boolean last, Listener listener) {
+        int i = from;
+
+        for (; i < length; i++) {
+            if (!last && length - i <= MAX_LOOKAHEAD) {
+                return i;
+            }
+
+            char c = source.charAt(i);
+
+            switch (state) {
+                case CODE:
+                    if (c == '/' && i + 1 < length && source.charAt(i + 1) == '/') {
+                        state = State.LINE_COMMENT;
+                        i++;
+                    } else if (c == '/' && i + 1 < length && source.charAt(i + 1) == '*') {
+                        boolean javadoc = i + 2 < length && source.charAt(i + 2) == '*'
+                                && (i + 3 >= length || source.charAt(i + 3) != '/');
+                        if (javadoc) {
+                            state = State.JAVADOC;
+                            listener.javadocStarted(i);
+                            i += 2;
+                        } else {
+                            state = State.BLOCK_COMMENT;
+                            i++;
+                        }
+                    } else if (c == '"') {
+                        if (i + 2 < length && source.charAt(i + 1) == '"' && source.charAt(i + 2) == '"') {
+                            state = State.TEXT_BLOCK;
+                            i += 2;
+                        } else {
+                            state = State.STRING;
+                        }
+                    } else if (c == '\'') {
+                        state = State.CHAR;
+                    } else if (c == '{' || c == ';') {
+                        listener.declarationEnded(i);
+                    }
+                    break;
+                case LINE_COMMENT:
+                    if (c == '\n') {
+                        state = State.CODE;
+                    }
+                    break;
+                case BLOCK_COMMENT:
+                case JAVADOC:
+                    if (c == '*' && i + 1 < length && source.charAt(i + 1) == '/') {
+                        i++;
+                        if (state == State.JAVADOC) {
+                            listener.javadocEnded(i + 1);
+                        }
+                        state = State.CODE;
+                    }
+                    break;
+                case STRING:
+                case CHAR:
+                    if (c == '\\') {
+                        i++;
+                    } else if (c == '\n' || c == (state == State.STRING ? '"' : '\'')) {
+                        state = State.CODE;
+                    }
+                    break;
+                case TEXT_BLOCK:
+                    if (c == '\\') {
+                        i++;
+                    } else if (c == '"' && i + 2 < length
+                            && source.charAt(i + 1) == '"' && source.charAt(i + 2) == '"') {
+                        state = State.CODE;
+                        i += 2;
+                    }
+                    break;
+            }
+        }
+
+        return i;
+    }
+}
@@ -0,0 +1,239 @@
+package logic;
+
+import custom.VisibleForTesting;
+import fileHandler.FileContentHandler;
+import fileHandler.UndecodableFileException;
+import metrics.FileReport;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.util.ArrayList;
+import java.util.List;
+
+// Fixes a file while it is read, so only a javadoc together with the code up to its declaration is held in memory
+// instead of the whole file and its copies. Code between the javadocs goes straight to the output.
+class StreamingJavadocFixer {
+
+    // Javadocs whose declaration is not found within this number of chars are fixed as if there was no declaration
+    static final int DEFAULT_MAX_LOOKAHEAD = 64 << 10;
+    private static final int DEFAULT_BUFFER_SIZE = 8 << 10;
+
+    private final JavadocFixingHandler fixingHandler;
+    private final int maxLookahead;
+    private final int bufferSize;
+
+    StreamingJavadocFixer(JavadocFixingHandler fixingHandler) {
+        this(fixingHandler, DEFAULT_MAX_LOOKAHEAD, DEFAULT_BUFFER_SIZE);
+    }
+
+    @VisibleForTesting
+    StreamingJavadocFixer(JavadocFixingHandler fixingHandler, int maxLookahead, int bufferSize) {
+        if (bufferSize <= SourceLexer.MAX_LOOKAHEAD) {
+            throw new IllegalArgumentException("Buffer size should be bigger than " + SourceLexer.MAX_LOOKAHEAD);
+        }
+        this.fixingHandler = fixingHandler;
+        this.maxLookahead = maxLookahead;
+        this.bufferSize = bufferSize;
+    }
+
+    boolean fix(File file) {
+        return fix(file, null);
+    }
+
+    boolean fix(File file, FileReport report) {
+        // Most of the files have nothing to fix, so the first pass stops on the first fix and writes nothing
+        try (Reader reader = FileContentHandler.getFileReader(file)) {
+            if (!fix(reader, null, report)) {
+                return false;
+            }
+        } catch (CharacterCodingException e) {
+            throw new UndecodableFileException(file, FileContentHandler.DEFAULT_CHARSET);
+        } catch (IOException e) {
+            throw new IllegalArgumentException(file + " - can't be read: " + e.getMessage());
+        }
+
+        // Statistics of the stopped first pass are partial, so the writing pass reports them again
+        if (report != null) {
+            report.resetFixes();
+        }
+        // The first pass may stop before the malformed part of the file, the writing pass keeps the file then
+        FileContentHandler.rewriteFile(file, writer -> {
+            try (Reader reader = FileContentHandler.getFileReader(file)) {
+                fix(reader, writer, report);
+            } catch (CharacterCodingException e) {
+                throw new UndecodableFileException(file, FileContentHandler.DEFAULT_CHARSET);
+            }
+        });
+        return true;
+    }
+
+    // Writes the fixed source to the output and returns whether anything was fixed. Without the output nothing is
+    // written and the source is read only until the first fix.
+    @VisibleForTesting
+    boolean fix(Reader input, Writer output) throws IOException {
+        return fix(input, output, null);
+    }
+
+    private boolean fix(Reader input, Writer output, FileReport report) throws IOException {
+        try {
+            return new Run(input, output, report).run();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private class Run implements SourceLexer.Listener {
+        private final Reader input;
+        private final Writer output;
+        private final FileReport report;
+        private final SourceLexer lexer = new SourceLexer();
+        private final char[] buffer = new char[bufferSize];
+        private final CharSequence bufferView = CharBuffer.wrap(buffer);
+        private int limit;
+        // Chars of the buffer before this index are already passed to the output or to the segment
+        private int copiedUntil;
+        // Javadocs waiting for their declaration together with the code in between, empty while streaming code
+        private final StringBuilder segment = new StringBuilder();
+        private boolean inSegment;
+        private boolean javadocInSegment;
+        // A javadoc is always held whole, the lookahead limit only applies to the code after it
+        private boolean javadocOpen;
+        private int lastJavadocEnd;
+        private boolean changed;
+
+        Run(Reader input, Writer output, FileReport report) {
+            this.input = input;
+            this.output = output;
+            this.report = report;
+        }
+
+        boolean run() throws IOException {
+            int position = 0;
+            boolean last = false;
+
+            while (!last && !stopped()) {
+                copyUntil(position);
+                System.arraycopy(buffer, position, buffer, 0, limit - position);
+                limit -= position;
+                copiedUntil = 0;
+
+                int read = input.read(buffer, limit, buffer.length - limit);
+                last = read < 0;
+                if (!last) {
+                    limit += read;
+                }
+
+                position = lexer.advance(bufferView, 0, limit, last, this);
+
+                if (javadocInSegment && !javadocOpen && lookahead(position) > maxLookahead) {
+                    copyUntil(position);
+                    finishSegment(false);
+                }
+            }
+
+            if (!stopped()) {
+                copyUntil(limit);
+                if (inSegment) {
+                    finishSegment(false);
+                }
+            }
+            return changed;
+        }
+
+        @Override
+        public void javadocStarted(int start) {
+            if (!inSegment) {
+                copyUntil(start);
+                inSegment = true;
+            }
+            javadocOpen = true;
+        }
+
+        @Override
+        public void javadocEnded(int end) {
+            javadocOpen = false;
+            javadocInSegment = true;
+            lastJavadocEnd = segment.length() + end - copiedUntil;
+        }
+
+        @Override
+        public void declarationEnded(int index) {
+            if (javadocInSegment) {
+                copyUntil(index);
+                finishSegment(true);
+            }
+        }
+
+        private boolean stopped() {
+            return changed && output == null;
+        }
+
+        private int lookahead(int position) {
+            return segment.length() + position - copiedUntil - lastJavadocEnd;
+        }
+
+        private void copyUntil(int index) {
+            if (inSegment) {
+                segment.append(buffer, copiedUntil, index - copiedUntil);
+            } else {
+                write(buffer, copiedUntil, index - copiedUntil);
+            }
+            copiedUntil = index;
+        }
+
+        // The segment starts with a javadoc in code and stops right before the declaration, so it is lexed on its
+        // own the same way as a part of the whole file
+        private void finishSegment(boolean declared) {
+            String content = segment.toString();
+            segment.setLength(0);
+            inSegment = false;
+            javadocInSegment = false;
+
+            // Rules work with "\n" line breaks, the original ones are restored
+            boolean windowsLineBreaks = content.contains("\r\n");
+            String normalizedContent = windowsLineBreaks ? LiteralReplacer.replaceAll(content, "\r\n", "\n") : content;
+
+            List<SourceLexer.JavadocBlock> javadocs = new ArrayList<>();
+            for (SourceLexer.JavadocBlock javadoc : SourceLexer.indexJavadocs(normalizedContent)) {
+                javadocs.add(new SourceLexer.JavadocBlock(javadoc.getStart(), javadoc.getEnd(),
+                        declared ? normalizedContent.length() : -1));
+            }
+
+            String fixedContent = fixingHandler.fixJavadocs(normalizedContent, javadocs, report);
+
+            if (fixedContent.equals(normalizedContent)) {
+                write(content);
+                return;
+            }
+
+            changed = true;
+            write(windowsLineBreaks ? LiteralReplacer.replaceAll(fixedContent, "\n", "\r\n") : fixedContent);
+        }
+
+        // Listener callbacks can't throw checked exceptions, so write failures are unwrapped by the caller
+        private void write(String text) {
+            if (output != null) {
+                try {
+                    output.write(text);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+
+        private void write(char[] chars, int offset, int length) {
+            if (output != null && length > 0) {
+                try {
+                    output.write(chars, offset, length);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,524 @@
+package logic;
+
+import java.util.Map;
+
+// Replaces the incomplete tags, bad use of angle brackets and ampersands rules with one forward scan. Every rewrite
+// is a small state machine which pushes its output to the next one, so the javadoc is read once and the result is
+// built in a single buffer. Machines are chained in the order the rules were applied and reproduce the regex
+// semantics of the replaced rules, including the cases where an earlier rewrite creates a match for a later one.
+final class SyntaxScanner {
+
+    static final String INCOMPLETE_TAGS_RULE = "fixIncompleteTags";
+    static final String ANGLE_BRACKETS_RULE = "fixBadUseOfAngleBrackets";
+    static final String AMPERSANDS_RULE = "fixAmpersands";
+
+    private final boolean incompleteTags;
+    private final boolean angleBrackets;
+    private final boolean ampersands;
+
+    SyntaxScanner(boolean incompleteTags, boolean angleBrackets, boolean ampersands) {
+        this.incompleteTags = incompleteTags;
+        this.angleBrackets = angleBrackets;
+        this.ampersands = ampersands;
+    }
+
+    boolean mayApply(String javadoc) {
+        return createStages(javadoc, new Sink(0)) != null;
+    }
+
+    String fix(String javadoc) {
+        return fix(javadoc, null);
+    }
+
+    // Adds the number of rewrites made by each rule which could match to hitsByRule, if it is given
+    String fix(String javadoc, Map<String, Integer> hitsByRule) {
+        Sink sink = new Sink(javadoc.length() + 16);
+        Stage first = createStages(javadoc, sink);
+
+        if (first == null) {
+            return javadoc;
+        }
+
+        int length = javadoc.length();
+        int i = 0;
+        while (i < length) {
+            int runEnd = plainRunEnd(javadoc, i);
+
+            if (runEnd > i) {
+                first.acceptRun(javadoc, i, runEnd);
+                i = runEnd;
+            } else if (javadoc.charAt(i) == ' ') {
+                while (i < length && javadoc.charAt(i) == ' ') {
+                    first.accept(javadoc.charAt(i++));
+                }
+            } else {
+                first.accept(javadoc.charAt(i++));
+            }
+        }
+        first.finish();
+
+        if (hitsByRule != null) {
+            for (Stage stage = first; stage != sink; stage = stage.next) {
+                hitsByRule.merge(stage.rule, stage.hits, Integer::sum);
+            }
+        }
+
+        return sink.result.toString();
+    }
+
+    // Returns null if none of the rewrites can match. Spaces, '&' and angle brackets are never produced by
+    // the rewrites out of nothing, so a machine is needed only if its match is already in the javadoc.
+    private Stage createStages(String javadoc, Sink sink) {
+        Stage first = sink;
+
+        if (ampersands && javadoc.indexOf('&') >= 0) {
+            first = new AmpersandStage(first);
+        }
+        if (angleBrackets) {
+            if (javadoc.contains("->")) {
+                first = new ArrowStage(first);
+            }
+            if (javadoc.contains(" <= ")) {
+                first = new SpacedOperatorStage("<=", " equal or less than ", first);
+            }
+            if (javadoc.contains(" >= ")) {
+                first = new SpacedOperatorStage(">=", " equal or greater than ", first);
+            }
+            if (javadoc.contains(" < ")) {
+                first = new SpacedOperatorStage("<", " less than ", first);
+            }
+            if (javadoc.contains(" > ")) {
+                first = new SpacedOperatorStage(">", " greater than ", first);
+            }
+        }
+        if (incompleteTags && javadoc.indexOf('>') >= 0 && javadoc.contains("&lt;")) {
+            first = new IncompleteTagStage(first);
+        }
+
+        return first == sink ? null : first;
+    }
+
+    // Returns the end of characters which can not start a rewrite. Spaces are a part of it,
+    // unless they are followed by a character which can
+    private static int plainRunEnd(String text, int start) {
+        int end = start;
+
+        while (end < text.length() && !isTrigger(text.charAt(end))) {
+            if (text.charAt(end) != ' ') {
+                end++;
+                continue;
+            }
+
+            int spacesEnd = end + 1;
+            while (spacesEnd < text.length() && text.charAt(spacesEnd) == ' ') {
+                spacesEnd++;
+            }
+            if (spacesEnd == text.length() || isTrigger(text.charAt(spacesEnd))) {
+                return end;
+            }
+            end = spacesEnd;
+        }
+
+        return end;
+    }
+
+    private static boolean isTrigger(char c) {
+        return c == '-' || c == '<' || c == '>' || c == '&';
+    }
+
+    private abstract static class Stage {
+        private final String rule;
+        private final Stage next;
+        private int hits;
+
+        Stage(String rule, Stage next) {
+            this.rule = rule;
+            this.next = next;
+        }
+
+        abstract void accept(char c);
+
+        // Idle machine has nothing pending and passes the plain characters unchanged
+        abstract boolean isIdle();
+
+        // Accepts the characters found by plainRunEnd
+        void acceptRun(String text, int start, int end) {
+            while (start < end && !isIdle()) {
+                accept(text.charAt(start++));
+            }
+            if (start < end) {
+                next.acceptRun(text, start, end);
+            }
+        }
+
+        void finish() {
+            next.finish();
+        }
+
+        final void emit(char c) {
+            next.accept(c);
+        }
+
+        final void emit(CharSequence text) {
+            for (int i = 0; i < text.length(); i++) {
+                next.accept(text.charAt(i));
+            }
+        }
+
+        final void rewrite(CharSequence replacement) {
+            hits++;
+            emit(replacement);
+        }
+
+        final void emit(char c, int count) {
+            for (int i = 0; i < count; i++) {
+                next.accept(c);
+            }
+        }
+    }
+
+    private static final class Sink extends Stage {
+        private final StringBuilder result;
+
+        Sink(int capacity) {
+            super(null, null);
+            result = new StringBuilder(capacity);
+        }
+
+        @Override
+        void accept(char c) {
+            result.append(c);
+        }
+
+        @Override
+        boolean isIdle() {
+            return true;
+        }
+
+        @Override
+        void acceptRun(String text, int start, int end) {
+            result.append(text, start, end);
+        }
+
+        @Override
+        void finish() {
+        }
+    }
+
+    // "&lt;[^<]*?>": the closing '>' becomes "&gt;" when "&lt;" was met after the last angle bracket
+    private static final class IncompleteTagStage extends Stage {
+        private boolean tagOpened;
+        private int entityMatched;
+
+        IncompleteTagStage(Stage next) {
+            super(INCOMPLETE_TAGS_RULE, next);
+        }
+
+        @Override
+        boolean isIdle() {
+            return entityMatched == 0;
+        }
+
+        @Override
+        void accept(char c) {
+            if (c == '>') {
+                if (tagOpened) {
+                    rewrite("&gt;");
+                } else {
+                    emit(c);
+                }
+                tagOpened = false;
+            } else {
+                if (c == '<') {
+                    tagOpened = false;
+                }
+                emit(c);
+            }
+
+            if ("&lt;".charAt(entityMatched) == c) {
+                entityMatched++;
+            } else {
+                entityMatched = c == '&' ? 1 : 0;
+            }
+            if (entityMatched == 4) {
+                tagOpened = true;
+                entityMatched = 0;
+            }
+        }
+    }
+
+    // "[ ]+<operator>[ ]+" -> replacement
+    private static final class SpacedOperatorStage extends Stage {
+        private final String operator;
+        private final String replacement;
+        private int spaces;
+        private int operatorMatched;
+        private boolean trailingSpaces;
+
+        SpacedOperatorStage(String operator, String replacement, Stage next) {
+            super(ANGLE_BRACKETS_RULE, next);
+            this.operator = operator;
+            this.replacement = replacement;
+        }
+
+        @Override
+        boolean isIdle() {
+            return spaces == 0;
+        }
+
+        @Override
+        void accept(char c) {
+            if (trailingSpaces) {
+                if (c == ' ') {
+                    return;
+                }
+                trailingSpaces = false;
+                spaces = 0;
+                operatorMatched = 0;
+                rewrite(replacement);
+                accept(c);
+                return;
+            }
+
+            if (spaces == 0) {
+                if (c == ' ') {
+                    spaces = 1;
+                } else {
+                    emit(c);
+                }
+                return;
+            }
+
+            if (operatorMatched == 0 && c == ' ') {
+                spaces++;
+                return;
+            }
+
+            if (operatorMatched < operator.length() && c == operator.charAt(operatorMatched)) {
+                operatorMatched++;
+                return;
+            }
+
+            if (operatorMatched == operator.length() && c == ' ') {
+                trailingSpaces = true;
+                return;
+            }
+
+            flush();
+            accept(c);
+        }
+
+        @Override
+        void finish() {
+            if (trailingSpaces) {
+                trailingSpaces = false;
+                rewrite(replacement);
+            } else {
+                flush();
+            }
+            super.finish();
+        }
+
+        private void flush() {
+            emit(' ', spaces);
+            emit(operator.substring(0, operatorMatched));
+            spaces = 0;
+            operatorMatched = 0;
+        }
+    }
+
+    // "[-]+>" -> "---"
+    private static final class ArrowStage extends Stage {
+        private int dashes;
+
+        ArrowStage(Stage next) {
+            super(ANGLE_BRACKETS_RULE, next);
+        }
+
+        @Override
+        boolean isIdle() {
+            return dashes == 0;
+        }
+
+        @Override
+        void accept(char c) {
+            if (c == '-') {
+                dashes++;
+                return;
+            }
+
+            if (dashes > 0 && c == '>') {
+                dashes = 0;
+                rewrite("---");
+                return;
+            }
+
+            emit('-', dashes);
+            dashes = 0;
+            emit(c);
+        }
+
+        @Override
+        void finish() {
+            emit('-', dashes);
+            dashes = 0;
+            super.finish();
+        }
+    }
+
+    // "(&+|[ ]+&+[ ]+)(?!(?:apos|quot|[gl]t|amp);|#)" -> " and "
+    private static final class AmpersandStage extends Stage {
+        private static final String[] ENTITIES = {"apos;", "quot;", "gt;", "lt;", "amp;", "#"};
+
+        private int leadingSpaces;
+        private int ampersands;
+        private int trailingSpaces;
+        private boolean lookingAhead;
+        private final StringBuilder lookahead = new StringBuilder();
+
+        AmpersandStage(Stage next) {
+            super(AMPERSANDS_RULE, next);
+        }
+
+        @Override
+        boolean isIdle() {
+            return leadingSpaces == 0 && ampersands == 0 && !lookingAhead;
+        }
+
+        @Override
+        void accept(char c) {
+            if (lookingAhead) {
+                lookahead.append(c);
+                int entityMatch = matchEntity(false);
+                if (entityMatch != 0) {
+                    resolve(entityMatch > 0);
+                }
+                return;
+            }
+
+            if (trailingSpaces > 0) {
+                if (c == ' ') {
+                    trailingSpaces++;
+                } else {
+                    startLookahead(c);
+                }
+                return;
+            }
+
+            if (ampersands > 0) {
+                if (c == '&') {
+                    ampersands++;
+                } else if (c == ' ' && leadingSpaces > 0) {
+                    trailingSpaces = 1;
+                } else {
+                    // "[ ]+&+[ ]+" can't match, "&+" is tried from the first ampersand
+                    emit(' ', leadingSpaces);
+                    leadingSpaces = 0;
+                    startLookahead(c);
+                }
+                return;
+            }
+
+            if (leadingSpaces > 0) {
+                if (c == ' ') {
+                    leadingSpaces++;
+                } else if (c == '&') {
+                    ampersands = 1;
+                } else {
+                    emit(' ', leadingSpaces);
+                    leadingSpaces = 0;
+                    emit(c);
+                }
+                return;
+            }
+
+            if (c == ' ') {
+                leadingSpaces = 1;
+            } else if (c == '&') {
+                ampersands = 1;
+            } else {
+                emit(c);
+            }
+        }
+
+        @Override
+        void finish() {
+            while (leadingSpaces > 0 || ampersands > 0 || lookingAhead) {
+                if (lookingAhead) {
+                    resolve(matchEntity(true) > 0);
+                } else if (trailingSpaces > 0) {
+                    reset();
+                    rewrite(" and ");
+                } else if (ampersands > 0) {
+                    emit(' ', leadingSpaces);
+                    reset();
+                    rewrite(" and ");
+                } else {
+                    emit(' ', leadingSpaces);
+                    leadingSpaces = 0;
+                }
+            }
+            super.finish();
+        }
+
+        private void startLookahead(char c) {
+            lookingAhead = true;
+            accept(c);
+        }
+
+        // Returns 1 if the lookahead starts with an entity, -1 if it can't and 0 if more characters are needed
+        private int matchEntity(boolean end) {
+            boolean prefix = false;
+            for (String entity : ENTITIES) {
+                int length = Math.min(entity.length(), lookahead.length());
+                int matched = 0;
+                while (matched < length && entity.charAt(matched) == lookahead.charAt(matched)) {
+                    matched++;
+                }
+                if (matched == entity.length()) {
+                    return 1;
+                }
+                prefix |= matched == length;
+            }
+            return prefix && !end ? 0 : -1;
+        }
+
+        private void resolve(boolean entityFollows) {
+            String pending = lookahead.toString();
+            int trailing = trailingSpaces;
+            int leading = leadingSpaces;
+            int ampersandsCount = ampersands;
+            lookahead.setLength(0);
+            lookingAhead = false;
+            reset();
+
+            if (!entityFollows) {
+                rewrite(" and ");
+            } else if (trailing > 1) {
+                // Backtracking gives the last space away
+                rewrite(" and ");
+                pending = " " + pending;
+            } else if (trailing == 1) {
+                // Only "&+" matches, the space after it passes the lookahead
+                emit(' ', leading);
+                rewrite(" and ");
+                pending = " " + pending;
+            } else if (ampersandsCount > 1) {
+                rewrite(" and ");
+                pending = "&" + pending;
+            } else {
+                emit('&');
+            }
+
+            for (int i = 0; i < pending.length(); i++) {
+                accept(pending.charAt(i));
+            }
+        }
+
+        private void reset() {
+            leadingSpaces = 0;
+            ampersands = 0;
+            trailingSpaces = 0;
+        }
+    }
+}
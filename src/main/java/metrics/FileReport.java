@@ -0,0 +1,121 @@
+package metrics;
+
+import java.io.File;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Statistics of a single fixed file. A report is filled by the thread fixing the file and is handed over to the
+// report writer once the file is done, so it needs no synchronization.
+public class FileReport {
+
+    public enum Status {
+        FIXED, UNCHANGED, CACHED, TIMED_OUT, UNDECODABLE, UNWRITABLE
+    }
+
+    private final File file;
+    private Status status;
+    private long bytesIn;
+    private long bytesOut;
+    private int javadocs;
+    private final Map<String, Integer> fixesByRule = new TreeMap<>();
+    private long readNanos;
+    private long fixNanos;
+    private long writeNanos;
+
+    public FileReport(File file) {
+        this.file = file;
+    }
+
+    public void addJavadocs(int count) {
+        javadocs += count;
+    }
+
+    public void addFix(String rule) {
+        fixesByRule.merge(rule, 1, Integer::sum);
+    }
+
+    // Forgets the javadocs and the fixes counted by a pass whose result is not kept
+    public void resetFixes() {
+        javadocs = 0;
+        fixesByRule.clear();
+    }
+
+    public String toJson() {
+        StringBuilder json = new StringBuilder("{\"path\": \"").append(MetricsRegistry.escapeJson(file.getPath()))
+                .append("\", \"status\": \"").append(status == null ? "" : status.name().toLowerCase())
+                .append("\", \"bytesIn\": ").append(bytesIn)
+                .append(", \"bytesOut\": ").append(bytesOut)
+                .append(", \"javadocs\": ").append(javadocs)
+                .append(", \"fixes\": {");
+        String separator = "";
+        for (Map.Entry<String, Integer> ruleFixes : fixesByRule.entrySet()) {
+            json.append(separator).append('"').append(MetricsRegistry.escapeJson(ruleFixes.getKey())).append("\": ")
+                    .append(ruleFixes.getValue());
+            separator = ", ";
+        }
+        return json.append("}, \"readNanos\": ").append(readNanos)
+                .append(", \"fixNanos\": ").append(fixNanos)
+                .append(", \"writeNanos\": ").append(writeNanos)
+                .append('}').toString();
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public long getBytesIn() {
+        return bytesIn;
+    }
+
+    public void setBytesIn(long bytesIn) {
+        this.bytesIn = bytesIn;
+    }
+
+    public long getBytesOut() {
+        return bytesOut;
+    }
+
+    public void setBytesOut(long bytesOut) {
+        this.bytesOut = bytesOut;
+    }
+
+    public int getJavadocs() {
+        return javadocs;
+    }
+
+    public Map<String, Integer> getFixesByRule() {
+        return fixesByRule;
+    }
+
+    public long getReadNanos() {
+        return readNanos;
+    }
+
+    public void setReadNanos(long readNanos) {
+        this.readNanos = readNanos;
+    }
+
+    public long getFixNanos() {
+        return fixNanos;
+    }
+
+    public void setFixNanos(long fixNanos) {
+        this.fixNanos = fixNanos;
+    }
+
+    public long getWriteNanos() {
+        return writeNanos;
+    }
+
+    public void setWriteNanos(long writeNanos) {
+        this.writeNanos = writeNanos;
+    }
+}
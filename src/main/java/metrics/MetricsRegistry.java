@@ -0,0 +1,154 @@
+package metrics;
+
+import fileHandler.FileContentHandler;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+public class MetricsRegistry {
+    public static final String RULE = "rule";
+    public static final String STAGE = "stage";
+
+    public static final String JSON_FILE_NAME = "javadoc-fixing-tool-metrics.json";
+    public static final String PROMETHEUS_FILE_NAME = "javadoc-fixing-tool-metrics.prom";
+
+    private static final double[] PERCENTILES = {50, 90, 99, 100};
+    private static final String PROMETHEUS_PREFIX = "javadoc_fixing_tool_";
+
+    private final ConcurrentMap<String, ConcurrentMap<String, Timer>> timers = new ConcurrentHashMap<>();
+
+    public Timer timer(String kind, String name) {
+        ConcurrentMap<String, Timer> kindTimers = timers.get(kind);
+        if (kindTimers == null) {
+            kindTimers = timers.computeIfAbsent(kind, key -> new ConcurrentHashMap<>());
+        }
+
+        Timer timer = kindTimers.get(name);
+        return timer != null ? timer : kindTimers.computeIfAbsent(name, key -> new Timer(kind, name));
+    }
+
+    public List<Timer> getTimers() {
+        List<Timer> sortedTimers = new ArrayList<>();
+        for (Map<String, Timer> kindTimers : new TreeMap<>(timers).values()) {
+            sortedTimers.addAll(new TreeMap<>(kindTimers).values());
+        }
+        return sortedTimers;
+    }
+
+    public void export(File directory) {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IllegalArgumentException(directory + " - is not a directory");
+        }
+        FileContentHandler.rewriteFile(new File(directory, JSON_FILE_NAME), toJson());
+        FileContentHandler.rewriteFile(new File(directory, PROMETHEUS_FILE_NAME), toPrometheusText());
+    }
+
+    public String toJson() {
+        Map<String, List<Timer>> timersByKind = groupByKind();
+
+        StringBuilder json = new StringBuilder("{");
+        String kindSeparator = "\n";
+        for (Map.Entry<String, List<Timer>> kindTimers : timersByKind.entrySet()) {
+            json.append(kindSeparator).append("  \"").append(kindTimers.getKey()).append("\": {");
+            String timerSeparator = "\n";
+            for (Timer timer : kindTimers.getValue()) {
+                json.append(timerSeparator).append("    \"").append(escapeJson(timer.getName())).append("\": {")
+                        .append("\"invocations\": ").append(timer.getInvocations())
+                        .append(", \"modifications\": ").append(timer.getModifications());
+                if (timer.getTimedBy() != null) {
+                    // The duration is a part of the one reported by the timedBy entry
+                    json.append(", \"timedBy\": \"").append(escapeJson(timer.getTimedBy())).append('"');
+                } else {
+                    json.append(", \"totalNanos\": ").append(timer.getTotalNanos());
+                    for (double percentile : PERCENTILES) {
+                        json.append(", \"").append(percentileName(percentile)).append("Nanos\": ")
+                                .append(timer.percentileNanos(percentile));
+                    }
+                }
+                json.append('}');
+                timerSeparator = ",\n";
+            }
+            json.append("\n  }");
+            kindSeparator = ",\n";
+        }
+        return json.append("\n}\n").toString();
+    }
+
+    public String toPrometheusText() {
+        StringBuilder text = new StringBuilder();
+        Map<String, List<Timer>> timersByKind = groupByKind();
+
+        for (Map.Entry<String, List<Timer>> kindTimers : timersByKind.entrySet()) {
+            String kind = kindTimers.getKey();
+            String durationMetric = PROMETHEUS_PREFIX + kind + "_duration_seconds";
+            String modificationsMetric = PROMETHEUS_PREFIX + kind + "_modifications_total";
+
+            text.append("# HELP ").append(durationMetric).append(" Duration of ").append(kind).append(" invocations\n")
+                    .append("# TYPE ").append(durationMetric).append(" summary\n");
+            for (Timer timer : kindTimers.getValue()) {
+                String label = kind + "=\"" + escapePrometheus(timer.getName()) + "\"";
+                if (timer.getTimedBy() != null) {
+                    text.append("# ").append(label).append(" is timed as a part of ").append(kind).append("=\"")
+                            .append(escapePrometheus(timer.getTimedBy())).append("\"\n");
+                    continue;
+                }
+                for (double percentile : PERCENTILES) {
+                    text.append(durationMetric).append('{').append(label)
+                            .append(",quantile=\"").append(percentile / 100).append("\"} ")
+                            .append(timer.percentileNanos(percentile) / 1e9).append('\n');
+                }
+                text.append(durationMetric).append("_sum{").append(label).append("} ")
+                        .append(timer.getTotalNanos() / 1e9).append('\n')
+                        .append(durationMetric).append("_count{").append(label).append("} ")
+                        .append(timer.getInvocations()).append('\n');
+            }
+
+            text.append("# HELP ").append(modificationsMetric).append(" Number of ").append(kind)
+                    .append(" invocations which changed the content\n")
+                    .append("# TYPE ").append(modificationsMetric).append(" counter\n");
+            for (Timer timer : kindTimers.getValue()) {
+                text.append(modificationsMetric).append('{').append(kind).append("=\"")
+                        .append(escapePrometheus(timer.getName())).append("\"} ")
+                        .append(timer.getModifications()).append('\n');
+            }
+        }
+        return text.toString();
+    }
+
+    private Map<String, List<Timer>> groupByKind() {
+        Map<String, List<Timer>> timersByKind = new TreeMap<>();
+        for (Timer timer : getTimers()) {
+            timersByKind.computeIfAbsent(timer.getKind(), kind -> new ArrayList<>()).add(timer);
+        }
+        return timersByKind;
+    }
+
+    private static String percentileName(double percentile) {
+        return percentile == 100 ? "max" : "p" + (int) percentile;
+    }
+
+    // Control chars are escaped as well, so a value never breaks a line of the run report
+    static String escapeJson(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                escaped.append('\\').append(c);
+            } else if (c < ' ') {
+                escaped.append(String.format("\\u%04x", (int) c));
+            } else {
+                escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    private static String escapePrometheus(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
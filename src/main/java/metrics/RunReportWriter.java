@@ -0,0 +1,107 @@
+package metrics;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+// Writes the file reports as JSON lines, one per file, while the files are fixed. Fixing threads only put the reports
+// into a bounded queue which a background thread drains to the file, so memory stays flat however many files
+// are reported.
+public class RunReportWriter implements AutoCloseable {
+
+    private static final int QUEUE_CAPACITY = 1024;
+    private static final FileReport END = new FileReport(new File(""));
+
+    private final File file;
+    private final Writer writer;
+    private final BlockingQueue<FileReport> reports = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final Thread writerThread;
+    private volatile IOException failure;
+    private boolean closed;
+
+    public RunReportWriter(File file) {
+        this.file = file;
+        try {
+            this.writer = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(file.toPath()),
+                    StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new IllegalArgumentException(file + " - can't be written: " + e.getMessage());
+        }
+
+        writerThread = new Thread(this::writeReports, "javadoc-fixing-report-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    // Blocks only when the writer falls behind by the whole queue
+    public void write(FileReport report) {
+        try {
+            reports.put(report);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Report writing was interrupted", e);
+        }
+    }
+
+    // Waits until the queued reports are written
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        write(END);
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Report writing was interrupted", e);
+        }
+
+        if (failure != null) {
+            throw new IllegalArgumentException(file + " - can't be written: " + failure.getMessage());
+        }
+    }
+
+    private void writeReports() {
+        try {
+            FileReport report;
+            while ((report = reports.take()) != END) {
+                writeReport(report);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                failure = failure != null ? failure : e;
+            }
+        }
+    }
+
+    // After a failure the reports are still taken from the queue, so the fixing threads never wait forever
+    private void writeReport(FileReport report) {
+        if (failure != null) {
+            return;
+        }
+
+        try {
+            writer.write(report.toJson());
+            writer.write('\n');
+            // Lines are flushed whenever the writer catches up, so the report can be followed during the run
+            if (reports.isEmpty()) {
+                writer.flush();
+            }
+        } catch (IOException e) {
+            failure = e;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Thread safe latency recorder. Durations are kept in a log-linear histogram (8 sub-buckets per power of two),
+// so percentiles are reported with at most 12.5% error without storing every sample
+public class Timer {
+    private static final int LINEAR_BUCKETS = 16;
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = LINEAR_BUCKETS + (63 - 4) * SUB_BUCKETS;
+
+    private final String kind;
+    private final String name;
+    private final LongAdder invocations = new LongAdder();
+    private final LongAdder modifications = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+    private volatile String timedBy;
+
+    Timer(String kind, String name) {
+        this.kind = kind;
+        this.name = name;
+    }
+
+    public void record(long nanos, boolean modified) {
+        nanos = Math.max(nanos, 0);
+        invocations.increment();
+        totalNanos.add(nanos);
+        if (modified) {
+            modifications.increment();
+        }
+        histogram.incrementAndGet(bucketOf(nanos));
+    }
+
+    // Counts an invocation whose duration is recorded, together with others, by the timedBy timer of the same kind
+    public void count(boolean modified, String timedBy) {
+        this.timedBy = timedBy;
+        invocations.increment();
+        if (modified) {
+            modifications.increment();
+        }
+    }
+
+    public String getKind() {
+        return kind;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    // Returns null if the timer records the durations itself
+    public String getTimedBy() {
+        return timedBy;
+    }
+
+    public long getInvocations() {
+        return invocations.sum();
+    }
+
+    public long getModifications() {
+        return modifications.sum();
+    }
+
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    // Returns the upper bound of the bucket holding the requested percentile, 0 if nothing was recorded
+    public long percentileNanos(double percentile) {
+        if (percentile <= 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile should be in (0, 100] range");
+        }
+
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = histogram.get(i);
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = (long) Math.ceil(total * percentile / 100);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return upperBoundOf(i);
+            }
+        }
+        return upperBoundOf(BUCKETS - 1);
+    }
+
+    static int bucketOf(long nanos) {
+        if (nanos < LINEAR_BUCKETS) {
+            return (int) nanos;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+        int subBucket = (int) (nanos >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return LINEAR_BUCKETS + (exponent - 4) * SUB_BUCKETS + subBucket;
+    }
+
+    static long upperBoundOf(int bucket) {
+        if (bucket < LINEAR_BUCKETS) {
+            return bucket;
+        }
+        int exponent = (bucket - LINEAR_BUCKETS) / SUB_BUCKETS + 4;
+        int subBucket = (bucket - LINEAR_BUCKETS) % SUB_BUCKETS;
+        long upperBound = ((long) (SUB_BUCKETS + subBucket + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+        return upperBound < 0 ? Long.MAX_VALUE : upperBound;
+    }
+}
@@ -0,0 +1,51 @@
+package entity;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+
+public class TextEditTest {
+
+    @Test
+    public void between_commonPrefixAndSuffixSkipped() {
+        assertEquals(new TextEdit(16, 1, "and"), TextEdit.between(10, "/** a & b */", "/** a and b */"));
+    }
+
+    @Test
+    public void between_insertion() {
+        assertEquals(new TextEdit(4, 0, "bb"), TextEdit.between(0, "aabba", "aabbbba"));
+    }
+
+    @Test
+    public void between_removal() {
+        assertEquals(new TextEdit(1, 2, ""), TextEdit.between(0, "abcd", "ad"));
+    }
+
+    @Test
+    public void apply_successFlow() {
+        String testValue = "a & b; c > d";
+
+        assertEquals("a and b; c greater than d", TextEdit.apply(testValue,
+                Arrays.asList(new TextEdit(2, 1, "and"), new TextEdit(9, 1, "greater than"))));
+    }
+
+    @Test
+    public void apply_noEdits() {
+        String testValue = "text";
+
+        assertEquals(testValue, TextEdit.apply(testValue, Collections.emptyList()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void apply_overlappingEdits() {
+        TextEdit.apply("abcdef", Arrays.asList(new TextEdit(1, 3, "x"), new TextEdit(2, 1, "y")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void apply_editOutOfText() {
+        TextEdit.apply("abc", Collections.singletonList(new TextEdit(2, 5, "x")));
+    }
+}
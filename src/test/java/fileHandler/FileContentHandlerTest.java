@@ -0,0 +1,103 @@
+package fileHandler;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Set;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
+
+public class FileContentHandlerTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void getFileContent_contentKeptAsIs() throws IOException {
+        String content = "class App {\r\n    // \u00fcn\u00efcode\r\n}";
+        File file = temporaryFolder.newFile("App.java");
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(content, FileContentHandler.getFileContent(file));
+    }
+
+    @Test
+    public void getFileContent_bigFile() throws IOException {
+        StringBuilder content = new StringBuilder();
+        while (content.length() < 3 << 20) {
+            content.append("    /** Javadoc \u00fc */\n    int field;\n");
+        }
+        File file = temporaryFolder.newFile("Big.java");
+        Files.write(file.toPath(), content.toString().getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(content.toString(), FileContentHandler.getFileContent(file));
+    }
+
+    @Test
+    public void getFileContent_bigFileRewrittenAndSmallFileReadAfterIt() throws IOException {
+        StringBuilder content = new StringBuilder();
+        while (content.length() < 3 << 20) {
+            content.append("    int field;\n");
+        }
+        File bigFile = temporaryFolder.newFile("Big.java");
+        Files.write(bigFile.toPath(), content.toString().getBytes(StandardCharsets.UTF_8));
+        File smallFile = temporaryFolder.newFile("Small.java");
+        Files.write(smallFile.toPath(), "class Small {\n}\n".getBytes(StandardCharsets.UTF_8));
+
+        FileContentHandler.rewriteFile(bigFile, FileContentHandler.getFileContent(bigFile) + "// end\n");
+
+        assertEquals(content + "// end\n", FileContentHandler.getFileContent(bigFile));
+        assertEquals("class Small {\n}\n", FileContentHandler.getFileContent(smallFile));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void getFileContent_notExistingFile() {
+        FileContentHandler.getFileContent(new File(temporaryFolder.getRoot(), "Missing.java"));
+    }
+
+    @Test(expected = UndecodableFileException.class)
+    public void getFileContent_malformedContent() throws IOException {
+        File file = temporaryFolder.newFile("Latin1.java");
+        Files.write(file.toPath(), new byte[]{'/', '/', ' ', (byte) 0xFC, '\n'});
+
+        FileContentHandler.getFileContent(file);
+    }
+
+    @Test
+    public void rewriteFile_contentReplaced() throws IOException {
+        File file = temporaryFolder.newFile("App.java");
+        Files.write(file.toPath(), "old content, which is longer".getBytes(StandardCharsets.UTF_8));
+
+        FileContentHandler.rewriteFile(file, "new \u00fc");
+
+        assertArrayEquals("new \u00fc".getBytes(StandardCharsets.UTF_8), Files.readAllBytes(file.toPath()));
+        assertEquals(1, temporaryFolder.getRoot().list().length);
+    }
+
+    @Test(expected = UnwritableFileException.class)
+    public void rewriteFile_notWritableLocation() {
+        FileContentHandler.rewriteFile(new File(new File(temporaryFolder.getRoot(), "missing"), "App.java"), "content");
+    }
+
+    @Test
+    public void rewriteFile_permissionsKept() throws IOException {
+        File file = temporaryFolder.newFile("App.java");
+        assumeTrue(Files.getFileAttributeView(file.toPath(), PosixFileAttributeView.class) != null);
+        Set<PosixFilePermission> permissions = PosixFilePermissions.fromString("rw-r-----");
+        Files.setPosixFilePermissions(file.toPath(), permissions);
+
+        FileContentHandler.rewriteFile(file, "content");
+
+        assertEquals(permissions, Files.getPosixFilePermissions(file.toPath()));
+    }
+}
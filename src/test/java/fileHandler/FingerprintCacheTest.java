@@ -0,0 +1,98 @@
+package fileHandler;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class FingerprintCacheTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File file;
+
+    @Before
+    public void setUp() throws IOException {
+        file = temporaryFolder.newFile("App.java");
+        FileContentHandler.rewriteFile(file, "class App {}\n");
+    }
+
+    @Test
+    public void isUpToDate_notCachedFile() {
+        FingerprintCache cache = FingerprintCache.load(temporaryFolder.getRoot(), "1");
+
+        assertFalse(cache.isUpToDate(file));
+    }
+
+    @Test
+    public void isUpToDate_savedAndLoaded() {
+        FingerprintCache cache = FingerprintCache.load(temporaryFolder.getRoot(), "1");
+        cache.update(file);
+        cache.save();
+
+        FingerprintCache loadedCache = FingerprintCache.load(temporaryFolder.getRoot(), "1");
+
+        assertTrue(loadedCache.isUpToDate(file));
+    }
+
+    @Test
+    public void isUpToDate_contentChanged() {
+        FingerprintCache cache = FingerprintCache.load(temporaryFolder.getRoot(), "1");
+        cache.update(file);
+
+        FileContentHandler.rewriteFile(file, "class App { int i; }\n");
+
+        assertFalse(cache.isUpToDate(file));
+    }
+
+    @Test
+    public void isUpToDate_touchedWithoutChanges() {
+        FingerprintCache cache = FingerprintCache.load(temporaryFolder.getRoot(), "1");
+        cache.update(file);
+
+        assertTrue(file.setLastModified(file.lastModified() - 60_000));
+
+        assertTrue(cache.isUpToDate(file));
+    }
+
+    @Test
+    public void isUpToDate_rulesVersionChanged() {
+        FingerprintCache cache = FingerprintCache.load(temporaryFolder.getRoot(), "1");
+        cache.update(file);
+        cache.save();
+
+        FingerprintCache loadedCache = FingerprintCache.load(temporaryFolder.getRoot(), "2");
+
+        assertFalse(loadedCache.isUpToDate(file));
+    }
+
+    @Test
+    public void pruneUnseen_deletedFileDropped() throws IOException {
+        File deletedFile = temporaryFolder.newFile("Deleted.java");
+        FingerprintCache cache = FingerprintCache.load(temporaryFolder.getRoot(), "1");
+        cache.update(file);
+        cache.update(deletedFile);
+        cache.save();
+        assertTrue(deletedFile.delete());
+
+        FingerprintCache loadedCache = FingerprintCache.load(temporaryFolder.getRoot(), "1");
+        assertTrue(loadedCache.isUpToDate(file));
+        loadedCache.pruneUnseen();
+        loadedCache.save();
+
+        List<String> lines = Files.readAllLines(loadedCache.getCacheFile(), StandardCharsets.UTF_8);
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(1).endsWith("\tApp.java"));
+    }
+}
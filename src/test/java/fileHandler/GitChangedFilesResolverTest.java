@@ -0,0 +1,128 @@
+package fileHandler;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+
+public class GitChangedFilesResolverTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path root;
+
+    @Before
+    public void setUp() throws Exception {
+        root = temporaryFolder.getRoot().toPath().toRealPath();
+        git("init", "-q");
+        writeFile("src/Unchanged.java", "class Unchanged {}");
+        writeFile("src/Modified.java", "class Modified {}");
+        writeFile("src/Deleted.java", "class Deleted {}");
+        git("add", ".");
+        git("commit", "-q", "-m", "Initial");
+        git("tag", "base");
+    }
+
+    @Test
+    public void getChangedFiles_committedStagedAndWorkingTreeChanges() throws Exception {
+        writeFile("src/Committed.java", "class Committed {}");
+        git("add", ".");
+        git("commit", "-q", "-m", "Second");
+        writeFile("src/Staged.java", "class Staged {}");
+        git("add", "src/Staged.java");
+        writeFile("src/Modified.java", "class Modified { }");
+        writeFile("src/Untracked.java", "class Untracked {}");
+        writeFile("src/notes.txt", "notes");
+        writeFile("target/Generated.java", "class Generated {}");
+        writeFile("src/build/Builder.java", "class Builder {}");
+        Files.delete(root.resolve("src/Deleted.java"));
+
+        List<String> expected = Arrays.asList("src/Committed.java", "src/Modified.java", "src/Staged.java",
+                "src/Untracked.java", "src/build/Builder.java");
+
+        assertEquals(expected, resolveRelativePaths(GitChangedFilesResolver.getChangedFiles(root.toString(), "base",
+                "java", SourceFilesResolver.DEFAULT_SKIPPED_DIRECTORIES)));
+    }
+
+    @Test
+    public void getChangedFiles_ignoredFilesAndOtherDirectoriesSkipped() throws Exception {
+        writeFile(".gitignore", "*.gen.java\n");
+        writeFile("src/Ignored.gen.java", "class Ignored {}");
+        writeFile("src/Changed.java", "class Changed {}");
+        writeFile("other/Other.java", "class Other {}");
+
+        assertEquals(Collections.singletonList("src/Changed.java"), resolveRelativePaths(
+                GitChangedFilesResolver.getChangedFiles(root.resolve("src").toString(), "HEAD", "java",
+                        SourceFilesResolver.DEFAULT_SKIPPED_DIRECTORIES)));
+    }
+
+    @Test
+    public void getChangedFiles_changesOfRefNotReported() throws Exception {
+        git("checkout", "-q", "-b", "feature");
+        writeFile("src/Feature.java", "class Feature {}");
+        git("add", ".");
+        git("commit", "-q", "-m", "Feature");
+        git("checkout", "-q", "base");
+        writeFile("src/Upstream.java", "class Upstream {}");
+        git("add", ".");
+        git("commit", "-q", "-m", "Upstream");
+        git("branch", "upstream");
+        git("checkout", "-q", "feature");
+
+        assertEquals(Collections.singletonList("src/Feature.java"), resolveRelativePaths(
+                GitChangedFilesResolver.getChangedFiles(root.toString(), "upstream", "java",
+                        SourceFilesResolver.DEFAULT_SKIPPED_DIRECTORIES)));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void getChangedFiles_unknownRef() {
+        GitChangedFilesResolver.getChangedFiles(root.toString(), "missing-ref", "java",
+                SourceFilesResolver.DEFAULT_SKIPPED_DIRECTORIES);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void getChangedFiles_notExistingDirectory() {
+        GitChangedFilesResolver.getChangedFiles(root.resolve("missing").toString(), "HEAD", "java",
+                SourceFilesResolver.DEFAULT_SKIPPED_DIRECTORIES);
+    }
+
+    private void writeFile(String relativePath, String content) throws IOException {
+        Path path = root.resolve(relativePath);
+        Files.createDirectories(path.getParent());
+        Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void git(String... args) throws Exception {
+        List<String> command = new ArrayList<>(Arrays.asList("git", "-c", "user.name=Test",
+                "-c", "user.email=test@example.com", "-c", "commit.gpgsign=false"));
+        command.addAll(Arrays.asList(args));
+
+        Process process = new ProcessBuilder(command).directory(root.toFile()).inheritIO().start();
+        assertEquals(0, process.waitFor());
+    }
+
+    private List<String> resolveRelativePaths(Stream<File> files) {
+        try (Stream<File> closeableFiles = files) {
+            return closeableFiles
+                    .map(file -> root.relativize(file.toPath()).toString())
+                    .map(path -> path.replace(File.separatorChar, '/'))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package fileHandler;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+
+public class SourceFilesResolverTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void getSourceFiles_skippedDirectoriesPruned() throws IOException {
+        createFile("App.java");
+        createFile("README.md");
+        createFile("src/main/java/pkg/Service.java");
+        createFile("src/main/java/pkg/service.properties");
+        createFile(".git/objects/Hidden.java");
+        createFile("target/generated/Generated.java");
+        createFile("node_modules/lib/Lib.java");
+
+        List<String> expected = Arrays.asList("App.java", "src/main/java/pkg/Service.java");
+
+        assertEquals(expected, resolveRelativePaths(SourceFilesResolver.getSourceFiles(
+                temporaryFolder.getRoot().getPath(), "java")));
+    }
+
+    @Test
+    public void getSourceFiles_buildDirectoriesPrunedOnlyInRootOrNextToBuildFile() throws IOException {
+        createFile("build/Generated.java");
+        createFile("module/pom.xml");
+        createFile("module/target/generated/Generated.java");
+        createFile("lib/build.gradle.kts");
+        createFile("lib/build/Generated.java");
+        createFile("src/main/java/com/example/build/Builder.java");
+        createFile("src/main/java/com/example/target/Target.java");
+        createFile("web/node_modules/lib/Lib.java");
+        createFile("src/main/java/.hidden/Hidden.java");
+
+        List<String> expected = Arrays.asList("src/main/java/com/example/build/Builder.java",
+                "src/main/java/com/example/target/Target.java");
+
+        assertEquals(expected, resolveRelativePaths(SourceFilesResolver.getSourceFiles(
+                temporaryFolder.getRoot().getPath(), "java")));
+    }
+
+    @Test
+    public void getSourceFiles_customSkippedDirectories() throws IOException {
+        createFile("generated/Generated.java");
+        createFile("target/Target.java");
+
+        List<String> expected = Collections.singletonList("target/Target.java");
+
+        assertEquals(expected, resolveRelativePaths(SourceFilesResolver.getSourceFiles(
+                temporaryFolder.getRoot().getPath(), "java", Collections.singleton("generated"))));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void getSourceFiles_notExistingDirectory() {
+        SourceFilesResolver.getSourceFiles(new File(temporaryFolder.getRoot(), "missing").getPath(), "java");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void getSourceFiles_notDirectory() throws IOException {
+        SourceFilesResolver.getSourceFiles(createFile("App.java").getPath(), "java");
+    }
+
+    private File createFile(String relativePath) throws IOException {
+        File file = new File(temporaryFolder.getRoot(), relativePath);
+        file.getParentFile().mkdirs();
+        file.createNewFile();
+        return file;
+    }
+
+    private List<String> resolveRelativePaths(Stream<File> files) {
+        try (Stream<File> closeableFiles = files) {
+            return closeableFiles
+                    .map(file -> temporaryFolder.getRoot().toPath().relativize(file.toPath()).toString())
+                    .map(path -> path.replace(File.separatorChar, '/'))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package fileHandler;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class SourceTreeWatcherTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private SourceTreeWatcher watcher;
+
+    @Before
+    public void setUp() throws IOException {
+        temporaryFolder.newFolder("src");
+        temporaryFolder.newFolder("target");
+        watcher = new SourceTreeWatcher(temporaryFolder.getRoot().getPath(), "java",
+                SourceFilesResolver.DEFAULT_SKIPPED_DIRECTORIES, 100);
+    }
+
+    @After
+    public void tearDown() {
+        watcher.close();
+    }
+
+    @Test(timeout = 10_000)
+    public void awaitChanges_createdAndModifiedSourceFiles() throws Exception {
+        File created = writeFile("src/App.java", "class App {}");
+        writeFile("src/notes.txt", "notes");
+        writeFile("target/Generated.java", "class Generated {}");
+
+        assertEquals(Collections.singletonList(created), watcher.awaitChanges());
+
+        writeFile("src/App.java", "class App { }");
+
+        assertEquals(Collections.singletonList(created), watcher.awaitChanges());
+    }
+
+    @Test(timeout = 10_000)
+    public void awaitChanges_filesOfCreatedDirectory() throws Exception {
+        File first = writeFile("src/pkg/First.java", "class First {}");
+        File second = writeFile("src/pkg/inner/Second.java", "class Second {}");
+
+        List<File> changedFiles = watcher.awaitChanges();
+        changedFiles.sort(null);
+
+        assertEquals(Arrays.asList(first, second), changedFiles);
+    }
+
+    @Test(timeout = 10_000)
+    public void processChanges_ownModificationsNotReported() throws Exception {
+        File fixed = writeFile("src/Fixed.java", "class Fixed {}");
+
+        watcher.processChanges(changedFiles -> {
+            assertEquals(Collections.singletonList(fixed), changedFiles);
+            FileContentHandler.rewriteFile(fixed, "class Fixed { }");
+            fixed.setLastModified(fixed.lastModified() - 5000);
+        });
+        File other = writeFile("src/Other.java", "class Other {}");
+
+        assertEquals(Collections.singletonList(other), watcher.awaitChanges());
+    }
+
+    @Test(timeout = 10_000)
+    public void watch_stoppedWhileBatchIsConsumed() throws Exception {
+        File changed = writeFile("src/App.java", "class App {}");
+        CountDownLatch batchStarted = new CountDownLatch(1);
+        CountDownLatch watcherStopped = new CountDownLatch(1);
+        List<List<File>> consumedBatches = new CopyOnWriteArrayList<>();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        Thread watchThread = new Thread(() -> {
+            try {
+                watcher.watch(changedFiles -> {
+                    batchStarted.countDown();
+                    try {
+                        watcherStopped.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    consumedBatches.add(changedFiles);
+                });
+            } catch (Throwable e) {
+                failure.set(e);
+            }
+        });
+        watchThread.start();
+
+        batchStarted.await();
+        watcher.stop();
+        watcherStopped.countDown();
+        watchThread.join();
+
+        assertNull(failure.get());
+        assertEquals(Collections.singletonList(Collections.singletonList(changed)), consumedBatches);
+    }
+
+    private File writeFile(String relativePath, String content) throws IOException {
+        File file = new File(temporaryFolder.getRoot(), relativePath);
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
@@ -0,0 +1,108 @@
+package logic;
+
+import entity.DescribedEntity;
+import entity.EntityDetailDescription;
+import entity.MethodDescription;
+import entity.Param;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static logic.TestUtils.assertListEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class DeclarationClassifierTest {
+
+    @Test
+    public void classify_method() {
+        DescribedEntity describedEntity =
+                classify("    public static <T> List<T> copy(List<T> source, int... indexes) throws IOException");
+
+        assertEquals(DescribedEntity.Type.METHOD, describedEntity.getType());
+        assertEquals("copy", describedEntity.getName());
+    }
+
+    @Test
+    public void classify_methodSignatureParsedTogether() {
+        DescribedEntity describedEntity =
+                classify("    public static <T> List<T> copy(List<T> source, int... indexes) throws IOException");
+
+        MethodDescription methodDescription = (MethodDescription) describedEntity.getDetailDescription();
+
+        assertTrue(methodDescription.isPresent());
+        assertEquals("List<T>", methodDescription.getReturnType());
+        assertListEquals(Arrays.asList(new Param("List<T>", "source"), new Param("int...", "indexes")),
+                methodDescription.getParams());
+        assertListEquals(Collections.singletonList("IOException"), methodDescription.getExceptionsThrown());
+    }
+
+    @Test
+    public void classify_paramsGroupAfterCaret() {
+        DescribedEntity describedEntity = classify("    void m(int a ^ b) throws A ^ (int c)");
+
+        assertEquals(DescribedEntity.Type.ANOTHER, describedEntity.getType());
+        describedEntity.setType(DescribedEntity.Type.CONSTRUCTOR);
+        describedEntity.setPresent(true);
+        EntityDetailDescription description = EntityParser.getEntityDetailDescription(describedEntity);
+
+        assertListEquals(Collections.singletonList(new Param("int", "c")), description.getParams());
+        assertListEquals(Collections.singletonList("A"), description.getExceptionsThrown());
+    }
+
+    @Test
+    public void classify_constructor() {
+        DescribedEntity describedEntity = classify("    public App(String name)");
+
+        assertEquals(DescribedEntity.Type.CONSTRUCTOR, describedEntity.getType());
+        assertEquals("App", describedEntity.getName());
+    }
+
+    @Test
+    public void classify_field() {
+        DescribedEntity describedEntity = classify("    private final Map<String, Integer> counts");
+
+        assertEquals(DescribedEntity.Type.FIELD, describedEntity.getType());
+        assertEquals("counts", describedEntity.getName());
+    }
+
+    @Test
+    public void classify_classAndInterface() {
+        assertEquals(DescribedEntity.Type.CLASS, classify(" public class App ").getType());
+        assertEquals(DescribedEntity.Type.INTERFACE, classify(" public interface Api ").getType());
+        assertNull(classify(" public class App ").getName());
+    }
+
+    @Test
+    public void classify_notDeclarations() {
+        assertEquals(DescribedEntity.Type.ANOTHER, classify("    Object o = new Object()").getType());
+        assertEquals(DescribedEntity.Type.ANOTHER, classify("    values.forEach(System.out::println)").getType());
+        assertEquals(DescribedEntity.Type.ANOTHER, classify("    int m(int a, int.. b)").getType());
+        assertEquals(DescribedEntity.Type.ANOTHER, classify("    int m(int a ^ b)").getType());
+    }
+
+    @Test
+    public void classify_longSignature() {
+        StringBuilder signature = new StringBuilder("    public Builder with(");
+        for (int i = 0; i < 2000; i++) {
+            signature.append(i > 0 ? ", " : "").append("Map<String, List<Integer>> argument").append(i);
+        }
+        signature.append(") throws IOException");
+
+        DescribedEntity describedEntity = classify(signature.toString());
+
+        assertEquals(DescribedEntity.Type.METHOD, describedEntity.getType());
+        assertEquals("with", describedEntity.getName());
+        assertEquals(2000, describedEntity.getDetailDescription().getParams().size());
+    }
+
+    private DescribedEntity classify(String data) {
+        DescribedEntity describedEntity = new DescribedEntity();
+        describedEntity.setPresent(true);
+        describedEntity.setData(data);
+        DeclarationClassifier.classify(describedEntity);
+        return describedEntity;
+    }
+}
@@ -0,0 +1,58 @@
+package logic;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.junit.Assert.assertEquals;
+
+public class DeclaredNamesTest {
+
+    private final DeclaredNames paramNames = new DeclaredNames(Arrays.asList("map", "m", "a$", "list"));
+
+    @Test
+    public void namedAfterTag_successFlow() {
+        assertEquals(Collections.singleton("map"), paramNames.namedAfterTag("@param map - the map", "param"));
+        assertEquals(Collections.singleton("list"), paramNames.namedAfterTag("@param (list) values", "param"));
+    }
+
+    @Test
+    public void namedAfterTag_nameNotFollowingTag() {
+        assertEquals(Collections.emptySet(), paramNames.namedAfterTag("@param value of the map", "param"));
+        assertEquals(Collections.emptySet(), paramNames.namedAfterTag("@param mapping", "param"));
+    }
+
+    @Test
+    public void namedAfterTag_everyTagOfStatement() {
+        assertEquals(new HashSet<>(Arrays.asList("m", "list")),
+                paramNames.namedAfterTag("@param m @param list", "param"));
+    }
+
+    @Test
+    public void namedAfterTag_angleBracketInStatement() {
+        assertEquals(Collections.emptySet(), paramNames.namedAfterTag("@param map - Map<K, V>", "param"));
+    }
+
+    @Test
+    public void namedAfterTag_nameWithoutWordCharAtEnd() {
+        assertEquals(Collections.singleton("a$"), paramNames.namedAfterTag("@param a$b", "param"));
+    }
+
+    @Test
+    public void containedIn_successFlow() {
+        DeclaredNames exceptionNames = new DeclaredNames(Arrays.asList("IOException", "java.sql.SQLException"));
+
+        assertEquals(Collections.singleton("IOException"), exceptionNames.containedIn("java.io.IOException"));
+        assertEquals(Collections.singleton("java.sql.SQLException"),
+                exceptionNames.containedIn("@throws java.sql.SQLException - exception"));
+        assertEquals(Collections.emptySet(), exceptionNames.containedIn("MyIOException"));
+    }
+
+    @Test
+    public void firstIndex_firstDeclaredName() {
+        assertEquals(1, paramNames.firstIndex(new HashSet<>(Arrays.asList("list", "m"))));
+        assertEquals(-1, paramNames.firstIndex(Collections.emptySet()));
+    }
+}
@@ -3,6 +3,7 @@ package logic;
 import entity.ConstructorDescription;
 import entity.DescribedEntity;
 import entity.MethodDescription;
+import entity.Param;
 import org.junit.Test;
 
 import java.util.Arrays;
@@ -11,6 +12,7 @@ import java.util.List;
 
 import static logic.TestUtils.assertListEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
@@ -368,7 +370,7 @@ public class EntityParserTest {
         testDescribedEntity.setPresent(true);
         testDescribedEntity.setData("public Set<String> method(List<String> strings,\n    Integer integer)" +
                 " throws Exception, IOException,SQLException,     FileNotFoundException");
-        List<String> expectedParams = Arrays.asList("List<String> strings", "Integer integer");
+        List<Param> expectedParams = Arrays.asList(new Param("List<String>", "strings"), new Param("Integer", "integer"));
         List<String> expectedExceptionsThrown = Arrays.asList("Exception", "IOException", "SQLException", "FileNotFoundException");
 
         MethodDescription resultMethodDescription = (MethodDescription) EntityParser.getEntityDetailDescription(testDescribedEntity);
@@ -386,7 +388,7 @@ public class EntityParserTest {
         testDescribedEntity.setPresent(true);
         testDescribedEntity.setData("Map<String, String> method(Map<Integer, String> map)" +
                 " throws Exception, IOException");
-        List<String> expectedParams = Collections.singletonList("Map<Integer, String> map");
+        List<Param> expectedParams = Collections.singletonList(new Param("Map<Integer, String>", "map"));
         List<String> expectedExceptionsThrown = Arrays.asList("Exception", "IOException");
 
         MethodDescription resultMethodDescription = (MethodDescription) EntityParser.getEntityDetailDescription(testDescribedEntity);
@@ -404,7 +406,7 @@ public class EntityParserTest {
         testDescribedEntity.setPresent(true);
         testDescribedEntity.setData("Map<String, String> method()" +
                 " throws Exception, IOException");
-        List<String> expectedParams = Collections.emptyList();
+        List<Param> expectedParams = Collections.emptyList();
         List<String> expectedExceptionsThrown = Arrays.asList("Exception", "IOException");
 
         MethodDescription resultMethodDescription = (MethodDescription) EntityParser.getEntityDetailDescription(testDescribedEntity);
@@ -422,7 +424,7 @@ public class EntityParserTest {
         testDescribedEntity.setPresent(true);
         testDescribedEntity.setData("void method(Integer integer)" +
                 " throws Exception");
-        List<String> expectedParams = Collections.singletonList("Integer integer");
+        List<Param> expectedParams = Collections.singletonList(new Param("Integer", "integer"));
         List<String> expectedExceptionsThrown = Collections.singletonList("Exception");
 
         MethodDescription resultMethodDescription = (MethodDescription) EntityParser.getEntityDetailDescription(testDescribedEntity);
@@ -440,7 +442,7 @@ public class EntityParserTest {
         testDescribedEntity.setPresent(true);
         testDescribedEntity.setData("void method(Map<Class<?>, SomeClass> par)" +
                 " throws Exception");
-        List<String> expectedParams = Collections.singletonList("Map<Class<?>, SomeClass> par");
+        List<Param> expectedParams = Collections.singletonList(new Param("Map<Class<?>, SomeClass>", "par"));
         List<String> expectedExceptionsThrown = Collections.singletonList("Exception");
 
         MethodDescription resultMethodDescription = (MethodDescription) EntityParser.getEntityDetailDescription(testDescribedEntity);
@@ -459,8 +461,8 @@ public class EntityParserTest {
         testDescribedEntity.setPresent(true);
         testDescribedEntity.setData("void method(Map<Class<?>, SomeClass<List<String>," +
                 " Map<Integer, String>>> par) throws Exception");
-        List<String> expectedParams = Collections.singletonList("Map<Class<?>, SomeClass<List<String>," +
-                " Map<Integer, String>>> par");
+        List<Param> expectedParams = Collections.singletonList(new Param("Map<Class<?>, SomeClass<List<String>," +
+                " Map<Integer, String>>>", "par"));
         List<String> expectedExceptionsThrown = Collections.singletonList("Exception");
 
         MethodDescription resultMethodDescription = (MethodDescription) EntityParser.getEntityDetailDescription(testDescribedEntity);
@@ -478,8 +480,8 @@ public class EntityParserTest {
         testDescribedEntity.setPresent(true);
         testDescribedEntity.setData("Constructor(Map<Class<?>, SomeClass<List<String>," +
                 " Map<Integer, String>>> par) throws Exception");
-        List<String> expectedParams = Collections.singletonList("Map<Class<?>, SomeClass<List<String>," +
-                " Map<Integer, String>>> par");
+        List<Param> expectedParams = Collections.singletonList(new Param("Map<Class<?>, SomeClass<List<String>," +
+                " Map<Integer, String>>>", "par"));
         List<String> expectedExceptionsThrown = Collections.singletonList("Exception");
 
         ConstructorDescription resultMethodDescription = (ConstructorDescription) EntityParser.getEntityDetailDescription(testDescribedEntity);
@@ -495,7 +497,7 @@ public class EntityParserTest {
                 " Map<Integer, String>>> par) throws Exception";
         String expected = "Map<String, String>";
 
-        String actual = EntityParser.parseReturnType(testSignature);
+        String actual = describeMethod(testSignature).getReturnType();
         assertEquals(expected, actual);
     }
 
@@ -505,7 +507,7 @@ public class EntityParserTest {
                 " Map<Integer, String>>> par) throws Exception";
         String expected = "void";
 
-        String actual = EntityParser.parseReturnType(testSignature);
+        String actual = describeMethod(testSignature).getReturnType();
         assertEquals(expected, actual);
     }
 
@@ -514,18 +516,19 @@ public class EntityParserTest {
         String testSignature = "Method(Map<Class<?>, SomeClass<List<String>,\n" +
                 " Map<Integer, String>>> par) throws Exception";
 
-        String actual = EntityParser.parseReturnType(testSignature);
-        assertNull(actual);
+        MethodDescription actual = describeMethod(testSignature);
+        assertNull(actual.getReturnType());
+        assertFalse(actual.isPresent());
     }
 
     @Test
     public void parseParams() {
         String testSignature = "void m(Map<Class<?>, SomeClass<List<String>,\n" +
                 " Map<Integer, String>>> par,  List<String> strings, Map<Integer, List<String>>) throws Exception";
-        List<String> expected = Arrays.asList("Map<Class<?>, SomeClass<List<String>," +
-                " Map<Integer, String>>> par", "List<String> strings", "Map<Integer, List<String>>");
+        List<Param> expected = Arrays.asList(new Param("Map<Class<?>, SomeClass<List<String>," +
+                " Map<Integer, String>>>", "par"), new Param("List<String>", "strings"));
 
-        List<String> actual = EntityParser.parseParams(testSignature);
+        List<Param> actual = describeMethod(testSignature).getParams();
 
         assertListEquals(expected, actual);
     }
@@ -533,8 +536,19 @@ public class EntityParserTest {
     @Test
     public void parseParams_noParams() {
         String testSignature = "void m( ) throws Exception";
-        List<String> expected = Collections.emptyList();
-        List<String> actual = EntityParser.parseParams(testSignature);
+        List<Param> expected = Collections.emptyList();
+        List<Param> actual = describeMethod(testSignature).getParams();
+
+        assertListEquals(expected, actual);
+    }
+
+    @Test
+    public void parseParams_typeGluedToName() {
+        String testSignature = "void m(List<LanguageRange>priorityList, final int... flags)";
+        List<Param> expected = Arrays.asList(new Param("List<LanguageRange>", "priorityList"),
+                new Param("int...", "flags", true));
+
+        List<Param> actual = describeMethod(testSignature).getParams();
 
         assertListEquals(expected, actual);
     }
@@ -543,9 +557,16 @@ public class EntityParserTest {
     public void parseExceptionsThrown() {
         String testSignature = "void m() throws Exception, IOException, FileNotFoundException";
         List<String> expected = Arrays.asList("Exception", "IOException", "FileNotFoundException");
-        List<String> actual = EntityParser.parseExceptionsThrown(testSignature);
+        List<String> actual = describeMethod(testSignature).getExceptionsThrown();
 
         assertListEquals(expected, actual);
     }
 
-}
\ No newline at end of file
+    private static MethodDescription describeMethod(String signature) {
+        DescribedEntity describedEntity = new DescribedEntity();
+        describedEntity.setType(DescribedEntity.Type.METHOD);
+        describedEntity.setPresent(true);
+        describedEntity.setData(signature);
+        return (MethodDescription) EntityParser.getEntityDetailDescription(describedEntity);
+    }
+}
@@ -0,0 +1,42 @@
+package logic;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertSame;
+
+public class FileDeadlineTest {
+
+    @Test
+    public void guard_noDeadline() {
+        String text = "text";
+
+        assertSame(text, FileDeadline.guard(text));
+        FileDeadline.check();
+    }
+
+    @Test(expected = FileTimeoutException.class)
+    public void guard_expiredDeadline() {
+        FileDeadline deadline = FileDeadline.start(10);
+        try {
+            CharSequence text = FileDeadline.guard("text");
+            while (true) {
+                text.charAt(0);
+            }
+        } finally {
+            deadline.close();
+        }
+    }
+
+    @Test
+    public void close_deadlineRemoved() throws InterruptedException {
+        FileDeadline.start(1).close();
+        Thread.sleep(20);
+
+        FileDeadline.check();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void start_notPositiveBudget() {
+        FileDeadline.start(0);
+    }
+}
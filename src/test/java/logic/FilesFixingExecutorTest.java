@@ -0,0 +1,366 @@
+package logic;
+
+import config.RunConfiguration;
+import entity.TextEdit;
+import fileHandler.FileContentHandler;
+import fileHandler.FingerprintCache;
+import metrics.FileReport;
+import metrics.RunReportWriter;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+public class FilesFixingExecutorTest {
+
+    private static final String SOURCE = "public class App {\n" +
+            "    /**\n" +
+            "     * a & b\n" +
+            "     */\n" +
+            "    void m(String s) {\n" +
+            "    }\n" +
+            "}\n";
+
+    private static final String FIXED_SOURCE = "public class App {\n" +
+            "    /**\n" +
+            "     * a and b\n" +
+            "     * @param s - the s (String)\n" +
+            "     */\n" +
+            "    void m(String s) {\n" +
+            "    }\n" +
+            "}\n";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void fixFiles_parallelResultEqualsSequential() throws IOException {
+        List<File> sequentialFiles = createFiles("sequential", 10);
+        List<File> parallelFiles = createFiles("parallel", 10);
+
+        int sequentialFixedCount = new FilesFixingExecutor(1).fixFiles(sequentialFiles.stream(), count -> {
+        });
+        int parallelFixedCount = new FilesFixingExecutor(4).fixFiles(parallelFiles.stream(), count -> {
+        });
+
+        assertEquals(5, sequentialFixedCount);
+        assertEquals(sequentialFixedCount, parallelFixedCount);
+        for (int i = 0; i < sequentialFiles.size(); i++) {
+            assertEquals(FileContentHandler.getFileContent(sequentialFiles.get(i)),
+                    FileContentHandler.getFileContent(parallelFiles.get(i)));
+        }
+        assertEquals(FIXED_SOURCE, FileContentHandler.getFileContent(parallelFiles.get(0)));
+    }
+
+    @Test
+    public void fixFiles_pipelinedResultEqualsSequential() throws IOException {
+        List<File> sequentialFiles = createFiles("sequential", 50);
+        List<File> pipelinedFiles = createFiles("pipelined", 50);
+        List<Integer> reportedCounts = new ArrayList<>();
+
+        int sequentialFixedCount = new FilesFixingExecutor(1).fixFiles(sequentialFiles.stream(), count -> {
+        });
+        int pipelinedFixedCount = new FilesFixingExecutor(configuration(2, 0, true, 0), new JavadocFixingHandler(),
+                null, null).fixFiles(pipelinedFiles.stream(), reportedCounts::add);
+
+        assertEquals(sequentialFixedCount, pipelinedFixedCount);
+        assertEquals(pipelinedFiles.size(), reportedCounts.size());
+        for (int i = 0; i < sequentialFiles.size(); i++) {
+            assertEquals(FileContentHandler.getFileContent(sequentialFiles.get(i)),
+                    FileContentHandler.getFileContent(pipelinedFiles.get(i)));
+        }
+    }
+
+    @Test
+    public void fixFiles_filesBiggerThanMemoryBudgetFixedOneByOne() throws IOException {
+        List<File> sequentialFiles = createFiles("sequentialBudget", 10);
+        List<File> parallelFiles = createFiles("parallelBudget", 10);
+        List<File> pipelinedFiles = createFiles("pipelinedBudget", 10);
+
+        int sequentialFixedCount = new FilesFixingExecutor(1).fixFiles(sequentialFiles.stream(), count -> {
+        });
+        int parallelFixedCount = new FilesFixingExecutor(configuration(4, 0, false, 1), new JavadocFixingHandler(),
+                null, null).fixFiles(parallelFiles.stream(), count -> {
+                });
+        int pipelinedFixedCount = new FilesFixingExecutor(configuration(4, 0, true, 1), new JavadocFixingHandler(),
+                null, null).fixFiles(pipelinedFiles.stream(), count -> {
+                });
+
+        assertEquals(sequentialFixedCount, parallelFixedCount);
+        assertEquals(sequentialFixedCount, pipelinedFixedCount);
+        for (int i = 0; i < sequentialFiles.size(); i++) {
+            assertEquals(FileContentHandler.getFileContent(sequentialFiles.get(i)),
+                    FileContentHandler.getFileContent(parallelFiles.get(i)));
+            assertEquals(FileContentHandler.getFileContent(sequentialFiles.get(i)),
+                    FileContentHandler.getFileContent(pipelinedFiles.get(i)));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void fixFiles_pipelinedFailureStopsRun() throws IOException {
+        List<File> files = createFiles("failure", 20);
+        files.add(10, new File(temporaryFolder.getRoot(), "Missing.java"));
+
+        new FilesFixingExecutor(configuration(2, 0, true, 0), new JavadocFixingHandler(), null, null)
+                .fixFiles(files.stream(), count -> {
+                });
+    }
+
+    @Test(timeout = 10000, expected = IllegalStateException.class)
+    public void fixFiles_pipelinedFailureWhileReadersWaitForBudget() throws IOException {
+        List<File> files = createFiles("budgetFailure", 40);
+        File failingFile = files.get(4);
+        JavadocFixingHandler failingHandler = new JavadocFixingHandler() {
+            @Override
+            public void write(File file, String fileContent, List<TextEdit> edits, FileReport report) {
+                if (file.equals(failingFile)) {
+                    throw new IllegalStateException("Write failed");
+                }
+                super.write(file, fileContent, edits, report);
+            }
+        };
+        long threeFilesBudget = 3 * failingFile.length() * InFlightBytesBudget.EXPANSION_FACTOR;
+
+        new FilesFixingExecutor(configuration(2, 0, true, threeFilesBudget), failingHandler, null, null)
+                .fixFiles(files.stream(), count -> {
+                });
+    }
+
+    @Test
+    public void fixFiles_pipelinedTimedOutFileLeftUntouched() throws IOException {
+        List<File> files = createFiles("pipelinedTimeout", 3);
+        JavadocFixingHandler slowHandler = new JavadocFixingHandler() {
+            @Override
+            public List<TextEdit> computeEdits(String fileContent, FileReport report) {
+                while (fileContent.equals(SOURCE)) {
+                    FileDeadline.check();
+                }
+                return super.computeEdits(fileContent, report);
+            }
+        };
+
+        FilesFixingExecutor executor = new FilesFixingExecutor(configuration(2, 50, true, 0), slowHandler, null,
+                null);
+        int fixedCount = executor.fixFiles(files.stream(), count -> {
+        });
+
+        assertEquals(0, fixedCount);
+        assertEquals(2, executor.getTimedOutFiles().size());
+        assertEquals(SOURCE, FileContentHandler.getFileContent(files.get(0)));
+    }
+
+    @Test
+    public void fixFiles_undecodableFileSkippedAndReported() throws IOException {
+        List<File> files = createFiles("undecodable", 4);
+        List<File> pipelinedFiles = createFiles("pipelinedUndecodable", 4);
+        byte[] latin1Source = SOURCE.replace("a & b", "a \u00fc b").getBytes(StandardCharsets.ISO_8859_1);
+        Files.write(files.get(0).toPath(), latin1Source);
+        Files.write(pipelinedFiles.get(0).toPath(), latin1Source);
+
+        FilesFixingExecutor executor = new FilesFixingExecutor(1);
+        FilesFixingExecutor pipelinedExecutor =
+                new FilesFixingExecutor(configuration(2, 0, true, 0), new JavadocFixingHandler(), null, null);
+
+        assertEquals(1, executor.fixFiles(files.stream(), count -> {
+        }));
+        assertEquals(1, pipelinedExecutor.fixFiles(pipelinedFiles.stream(), count -> {
+        }));
+        assertEquals(Collections.singletonList(files.get(0)), executor.getUndecodableFiles());
+        assertEquals(Collections.singletonList(pipelinedFiles.get(0)), pipelinedExecutor.getUndecodableFiles());
+        assertArrayEquals(latin1Source, Files.readAllBytes(files.get(0).toPath()));
+        assertEquals(FIXED_SOURCE, FileContentHandler.getFileContent(files.get(2)));
+    }
+
+    @Test
+    public void fixFiles_streamedFileUndecodableAfterFirstFixLeftUntouched() throws IOException {
+        File file = new File(temporaryFolder.newFolder("streamedUndecodable"), "App.java");
+        byte[] latin1Source = (SOURCE + "// \u00fc\n").getBytes(StandardCharsets.ISO_8859_1);
+        Files.write(file.toPath(), latin1Source);
+        JavadocFixingHandler streamingHandler = new JavadocFixingHandler(Collections.emptySet(), null, true);
+
+        FilesFixingExecutor executor = new FilesFixingExecutor(configuration(1, 0, false, 0), streamingHandler, null,
+                null);
+
+        assertEquals(0, executor.fixFiles(Stream.of(file), count -> {
+        }));
+        assertEquals(Collections.singletonList(file), executor.getUndecodableFiles());
+        assertArrayEquals(latin1Source, Files.readAllBytes(file.toPath()));
+        assertEquals(1, file.getParentFile().list().length);
+    }
+
+    @Test
+    public void fixFiles_readOnlyFileSkippedAndNotCached() throws IOException {
+        List<File> files = createFiles("readOnly", 4);
+        File readOnlyFile = files.get(0);
+        assumeTrue(readOnlyFile.setWritable(false) && !readOnlyFile.canWrite());
+        FingerprintCache cache = FingerprintCache.load(readOnlyFile.getParentFile(), "1");
+
+        FilesFixingExecutor executor = new FilesFixingExecutor(configuration(1, 0, false, 0),
+                new JavadocFixingHandler(), cache, null);
+
+        assertEquals(1, executor.fixFiles(files.stream(), count -> {
+        }));
+        assertEquals(Collections.singletonList(readOnlyFile), executor.getUnwritableFiles());
+        assertEquals(SOURCE, FileContentHandler.getFileContent(readOnlyFile));
+        assertEquals(FIXED_SOURCE, FileContentHandler.getFileContent(files.get(2)));
+        assertFalse(cache.isUpToDate(readOnlyFile));
+        assertTrue(cache.isUpToDate(files.get(2)));
+    }
+
+    @Test
+    public void fixFiles_unwritableFileSkippedAndReportedInEveryMode() throws IOException {
+        File reportFile = temporaryFolder.newFile("unwritable.jsonl");
+
+        try (RunReportWriter reportWriter = new RunReportWriter(reportFile)) {
+            for (RunConfiguration configuration : Arrays.asList(configuration(1, 0, false, 0),
+                    configuration(2, 0, false, 0), configuration(2, 0, true, 0))) {
+                List<File> files = createFiles("unwritable" + configuration.getWorkersCount()
+                        + configuration.isPipelined(), 4);
+                // Directory of the file is gone once the file is read, so even root can't write it
+                File unwritableFile = new File(temporaryFolder.newFolder(), "App.java");
+                FileContentHandler.rewriteFile(unwritableFile, SOURCE + "// unwritable\n");
+                files.add(0, unwritableFile);
+                JavadocFixingHandler handler = new JavadocFixingHandler() {
+                    @Override
+                    public List<TextEdit> computeEdits(String fileContent, FileReport report) {
+                        if (fileContent.endsWith("// unwritable\n")) {
+                            assertTrue(unwritableFile.delete() && unwritableFile.getParentFile().delete());
+                        }
+                        return super.computeEdits(fileContent, report);
+                    }
+                };
+
+                FilesFixingExecutor executor = new FilesFixingExecutor(configuration, handler, null, reportWriter);
+
+                assertEquals(2, executor.fixFiles(files.stream(), count -> {
+                }));
+                assertEquals(Collections.singletonList(unwritableFile), executor.getUnwritableFiles());
+                assertEquals(FIXED_SOURCE, FileContentHandler.getFileContent(files.get(1)));
+            }
+        }
+
+        List<String> lines = Files.readAllLines(reportFile.toPath(), StandardCharsets.UTF_8);
+        assertEquals(15, lines.size());
+        assertEquals(3, lines.stream().filter(line -> line.contains("\"status\": \"unwritable\", ")
+                && line.contains("\"fixes\": {}")).count());
+    }
+
+    @Test
+    public void fixFiles_progressReportedForEveryFile() throws IOException {
+        List<File> files = createFiles("progress", 7);
+        List<Integer> reportedCounts = new ArrayList<>();
+
+        new FilesFixingExecutor(3).fixFiles(files.stream(), reportedCounts::add);
+
+        assertEquals(files.size(), reportedCounts.size());
+        for (int i = 0; i < files.size(); i++) {
+            assertEquals(i + 1, (int) reportedCounts.get(i));
+        }
+    }
+
+    @Test
+    public void fixFiles_windowsLineBreaksKept() throws IOException {
+        File file = new File(temporaryFolder.newFolder("windows"), "App.java");
+        FileContentHandler.rewriteFile(file, SOURCE.replace("\n", "\r\n"));
+
+        int fixedCount = new FilesFixingExecutor(1).fixFiles(Stream.of(file), count -> {
+        });
+
+        assertEquals(1, fixedCount);
+        assertEquals(FIXED_SOURCE.replace("\n", "\r\n"), FileContentHandler.getFileContent(file));
+    }
+
+    @Test
+    public void fixFiles_timedOutFileLeftUntouchedAndReported() throws IOException {
+        List<File> files = createFiles("timeout", 3);
+        File slowFile = files.get(0);
+        JavadocFixingHandler slowHandler = new JavadocFixingHandler() {
+            @Override
+            public boolean fix(File file, FileReport report) {
+                while (file.equals(slowFile)) {
+                    FileDeadline.check();
+                }
+                return super.fix(file, report);
+            }
+        };
+
+        FilesFixingExecutor executor = new FilesFixingExecutor(configuration(2, 50, false, 0), slowHandler, null,
+                null);
+        int fixedCount = executor.fixFiles(files.stream(), count -> {
+        });
+
+        assertEquals(1, fixedCount);
+        assertEquals(Collections.singletonList(slowFile), executor.getTimedOutFiles());
+        assertEquals(SOURCE, FileContentHandler.getFileContent(slowFile));
+        assertEquals(FIXED_SOURCE, FileContentHandler.getFileContent(files.get(2)));
+    }
+
+    @Test
+    public void fixFiles_reportLineForEveryFile() throws IOException {
+        List<File> files = createFiles("report", 4);
+        File reportFile = temporaryFolder.newFile("report.jsonl");
+
+        try (RunReportWriter reportWriter = new RunReportWriter(reportFile)) {
+            new FilesFixingExecutor(configuration(1, 0, false, 0), new JavadocFixingHandler(), null, reportWriter)
+                    .fixFiles(files.stream(), count -> {
+                    });
+        }
+
+        List<String> lines = Files.readAllLines(reportFile.toPath(), StandardCharsets.UTF_8);
+        assertEquals(files.size(), lines.size());
+        assertTrue(lines.get(0).startsWith("{\"path\": \"" + files.get(0).getPath().replace("\\", "\\\\")
+                + "\", \"status\": \"fixed\", \"bytesIn\": " + SOURCE.length()
+                + ", \"bytesOut\": " + FIXED_SOURCE.length()
+                + ", \"javadocs\": 1, \"fixes\": {\"fixAmpersands\": 1, "
+                + "\"fixParamStatements\": 1}, \"readNanos\": "));
+        assertTrue(lines.get(1).contains("\"status\": \"unchanged\""));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_negativeFileTimeout() {
+        new FilesFixingExecutor(configuration(1, -1, false, 0), new JavadocFixingHandler(), null, null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_notPositiveWorkersCount() {
+        new FilesFixingExecutor(0);
+    }
+
+    private static RunConfiguration configuration(int workersCount, long fileTimeoutMillis, boolean pipelined,
+                                                  long memoryBudgetBytes) {
+        RunConfiguration configuration = new RunConfiguration();
+        configuration.setWorkersCount(workersCount);
+        configuration.setFileTimeoutMillis(fileTimeoutMillis);
+        configuration.setPipelined(pipelined);
+        configuration.setMemoryBudgetBytes(memoryBudgetBytes);
+        return configuration;
+    }
+
+    private List<File> createFiles(String folderName, int count) throws IOException {
+        File folder = temporaryFolder.newFolder(folderName);
+        List<File> files = new ArrayList<>();
+
+        for (int i = 0; i < count; i++) {
+            File file = new File(folder, "App" + i + ".java");
+            FileContentHandler.rewriteFile(file, i % 2 == 0 ? SOURCE : FIXED_SOURCE);
+            files.add(file);
+        }
+
+        return files;
+    }
+}
@@ -0,0 +1,22 @@
+package logic;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertTrue;
+
+public class FilesFixingPipelineTest {
+
+    @Test
+    public void ioThreadFactory_threadsRunTasks() throws InterruptedException {
+        AtomicBoolean executed = new AtomicBoolean();
+
+        Thread thread = FilesFixingPipeline.ioThreadFactory("test").newThread(() -> executed.set(true));
+        thread.start();
+        thread.join();
+
+        assertTrue(executed.get());
+        assertTrue(thread.getName().startsWith("test-"));
+    }
+}
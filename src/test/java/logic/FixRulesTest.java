@@ -0,0 +1,79 @@
+package logic;
+
+import entity.MethodDescription;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class FixRulesTest {
+
+    private final JavadocFixingHandler fixingHandler = new JavadocFixingHandler();
+
+    @Test
+    public void mayApply_syntaxRulesSkipPlainJavadoc() {
+        String testValue = "/**\n     * Plain text\n     */";
+
+        for (FixRule<String> rule : FixRules.syntaxRules(fixingHandler, Collections.emptySet())) {
+            assertFalse(rule.getName(), rule.mayApply(testValue, null));
+        }
+    }
+
+    @Test
+    public void mayApply_syntaxRulesAppliedWhenNeeded() {
+        List<FixRule<String>> rules = FixRules.syntaxRules(fixingHandler, Collections.emptySet());
+        List<String> testValues = Arrays.asList(
+                "* &lt;a> a & b", "* List<String>", "* <p/>", "* @custom"
+        );
+
+        for (int i = 0; i < rules.size(); i++) {
+            assertTrue(rules.get(i).getName(), rules.get(i).mayApply(testValues.get(i), null));
+            assertTrue(rules.get(i).getName(),
+                    !rules.get(i).apply(testValues.get(i), null).equals(testValues.get(i)));
+        }
+    }
+
+    @Test
+    public void mayApply_returnRuleSkippedForVoidWithoutReturnStatement() {
+        MethodDescription methodDescription = new MethodDescription();
+        methodDescription.setReturnType("void");
+        FixRule<JavadocTree> returnRule = FixRules.entityRules(fixingHandler, Collections.emptySet()).get(2);
+
+        assertFalse(returnRule.mayApply(JavadocTree.parse("/**\n     * Text\n     */"), methodDescription));
+        assertTrue(returnRule.mayApply(JavadocTree.parse("/**\n     * @return value\n     */"), methodDescription));
+    }
+
+    @Test
+    public void fixJavadocBasedOnSyntaxRequirements_disabledRuleNotApplied() {
+        JavadocFixingHandler handler = new JavadocFixingHandler(
+                new HashSet<>(Collections.singletonList("fixAmpersands")), null);
+
+        assertEquals("/** a & b */", handler.fixJavadocBasedOnSyntaxRequirements("/** a & b */"));
+    }
+
+    @Test
+    public void fixJavadocBasedOnSyntaxRequirements_disabledRuleKeptOutOfScan() {
+        JavadocFixingHandler handler = new JavadocFixingHandler(
+                new HashSet<>(Collections.singletonList("fixBadUseOfAngleBrackets")), null);
+
+        assertEquals("/** a > b and c */", handler.fixJavadocBasedOnSyntaxRequirements("/** a > b & c */"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_unknownRuleDisabled() {
+        new JavadocFixingHandler(new HashSet<>(Collections.singletonList("fixEverything")), null);
+    }
+
+    @Test
+    public void rulesVersion_dependsOnDisabledRules() {
+        assertEquals(JavadocFixingHandler.RULES_VERSION, JavadocFixingHandler.rulesVersion(Collections.emptySet()));
+        assertEquals(JavadocFixingHandler.RULES_VERSION + "-fixAmpersands,fixGenerics",
+                JavadocFixingHandler.rulesVersion(new HashSet<>(Arrays.asList("fixGenerics", "fixAmpersands"))));
+    }
+}
@@ -0,0 +1,43 @@
+package logic;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class ForwardRewriterTest {
+
+    @Test
+    public void replace_successFlow() {
+        ForwardRewriter rewriter = new ForwardRewriter("a <b> c <d> e");
+
+        rewriter.replace(2, 5, "B");
+        assertEquals("B c <d> e", rewriter.toString());
+        assertEquals(2, rewriter.rewrittenIndex(0));
+        assertEquals(6, rewriter.rewrittenIndex(4));
+
+        rewriter.replace(4, 7, "D");
+        assertEquals("D e", rewriter.toString());
+        assertEquals("a B c D e", rewriter.result());
+    }
+
+    @Test
+    public void replace_insideReplacement() {
+        ForwardRewriter rewriter = new ForwardRewriter("x <<a>> y");
+
+        rewriter.replace(2, 6, "[<a]");
+        assertEquals("[<a]> y", rewriter.toString());
+        assertEquals("<a]>", rewriter.subSequence(1, 5).toString());
+
+        rewriter.replace(1, 5, "A");
+        assertEquals(3, rewriter.rewrittenIndex(0));
+        assertEquals("x [A y", rewriter.result());
+    }
+
+    @Test
+    public void result_nothingReplaced() {
+        String testValue = "a <b> c";
+
+        assertSame(testValue, new ForwardRewriter(testValue).result());
+    }
+}
@@ -0,0 +1,127 @@
+package logic;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class InFlightBytesBudgetTest {
+
+    @Test
+    public void acquire_weightIsExpandedFileSize() throws InterruptedException {
+        InFlightBytesBudget budget = new InFlightBytesBudget(1000);
+
+        assertEquals(10 * InFlightBytesBudget.EXPANSION_FACTOR, budget.acquire(10));
+    }
+
+    @Test
+    public void acquire_waitsUntilBudgetReleased() throws InterruptedException {
+        InFlightBytesBudget budget = new InFlightBytesBudget(100);
+        AtomicBoolean acquired = new AtomicBoolean();
+
+        long weight = budget.acquire(10);
+        Thread thread = acquireInThread(budget, 10, acquired);
+
+        thread.join(200);
+        assertFalse(acquired.get());
+
+        budget.release(weight);
+        thread.join(1000);
+        assertTrue(acquired.get());
+    }
+
+    @Test
+    public void acquire_fileBiggerThanBudgetLetAlone() throws InterruptedException {
+        InFlightBytesBudget budget = new InFlightBytesBudget(100);
+
+        assertEquals(100, budget.acquire(1000));
+    }
+
+    @Test
+    public void acquire_filesLetInOrder() throws InterruptedException {
+        InFlightBytesBudget budget = new InFlightBytesBudget(100);
+        AtomicBoolean bigAcquired = new AtomicBoolean();
+        AtomicBoolean smallAcquired = new AtomicBoolean();
+
+        long weight = budget.acquire(10);
+        Thread bigFileThread = acquireInThread(budget, 10, bigAcquired);
+        bigFileThread.join(100);
+        Thread smallFileThread = acquireInThread(budget, 1, smallAcquired);
+
+        smallFileThread.join(200);
+        assertFalse(bigAcquired.get());
+        assertFalse(smallAcquired.get());
+
+        budget.release(weight);
+        bigFileThread.join(1000);
+        smallFileThread.join(1000);
+        assertTrue(bigAcquired.get());
+        assertTrue(smallAcquired.get());
+    }
+
+    @Test
+    public void acquire_interruptedFileLeavesLine() throws InterruptedException {
+        InFlightBytesBudget budget = new InFlightBytesBudget(100);
+        AtomicBoolean interruptedAcquired = new AtomicBoolean();
+        AtomicBoolean nextAcquired = new AtomicBoolean();
+
+        long weight = budget.acquire(10);
+        Thread interruptedThread = acquireInThread(budget, 10, interruptedAcquired);
+        interruptedThread.join(100);
+        Thread nextThread = acquireInThread(budget, 10, nextAcquired);
+        nextThread.join(100);
+
+        interruptedThread.interrupt();
+        interruptedThread.join(1000);
+        budget.release(weight);
+        nextThread.join(1000);
+
+        assertFalse(interruptedAcquired.get());
+        assertTrue(nextAcquired.get());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_notPositiveBudget() {
+        new InFlightBytesBudget(0);
+    }
+
+    @Test
+    public void acquire_waitingGivenUpOnCancellation() throws InterruptedException {
+        InFlightBytesBudget budget = new InFlightBytesBudget(100);
+        AtomicBoolean cancelled = new AtomicBoolean();
+        AtomicLong acquiredWeight = new AtomicLong(-1);
+
+        budget.acquire(10);
+        Thread thread = new Thread(() -> {
+            try {
+                acquiredWeight.set(budget.acquire(10, cancelled::get));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        thread.start();
+        thread.join(200);
+        assertEquals(-1, acquiredWeight.get());
+
+        cancelled.set(true);
+        budget.wakeUp();
+        thread.join(1000);
+        assertEquals(0, acquiredWeight.get());
+    }
+
+    private Thread acquireInThread(InFlightBytesBudget budget, long fileSize, AtomicBoolean acquired) {
+        Thread thread = new Thread(() -> {
+            try {
+                budget.acquire(fileSize);
+                acquired.set(true);
+            } catch (InterruptedException ignored) {
+            }
+        });
+        thread.start();
+        return thread;
+    }
+}
@@ -3,11 +3,14 @@ package logic;
 import entity.ConstructorDescription;
 import entity.EntityDetailDescription;
 import entity.MethodDescription;
+import entity.Param;
+import entity.TextEdit;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 
 import static org.junit.Assert.assertEquals;
 
@@ -108,6 +111,38 @@ public class JavadocFixingHandlerTest {
         assertEquals(expectedValue, actualValue);
     }
 
+    @Test
+    public void fixGenerics_nestedGenerics() {
+        String testValue = "/**\n" +
+                "     * Map<String, List<Integer>> values, List<String>Foo<X>\n" +
+                "     */";
+
+        String expectedValue = "/**\n" +
+                "     * Map (String - key,  List of generics type Integer - value) values, " +
+                "List of generics type StringFoo of generics type X\n" +
+                "     */";
+
+        String actualValue = javadocFixingHandler.fixGenerics(testValue);
+
+        assertEquals(expectedValue, actualValue);
+    }
+
+    @Test
+    public void fixGenerics_codeTagConsumedByPreviousReplacement() {
+        String testValue = "/**\n" +
+                "     * Set<Foo<Bar>> <code>Optional<String></code>\n" +
+                "     */";
+
+        String expectedValue = "/**\n" +
+                "     * Set of generics type Foo of generics type Bar  of generics type " +
+                "codeOptional of generics type String</code>\n" +
+                "     */";
+
+        String actualValue = javadocFixingHandler.fixGenerics(testValue);
+
+        assertEquals(expectedValue, actualValue);
+    }
+
     @Test
     public void fixSelfEnclosingAndEmptyTags_successFlow() {
         String testValue = "/**\n" +
@@ -129,6 +164,15 @@ public class JavadocFixingHandlerTest {
         assertEquals(expectedValue, actualValue);
     }
 
+    @Test
+    public void fixSelfEnclosingAndEmptyTags_tagFixedWhereItIsMatched() {
+        String testValue = "/**\n     * <br/> a </b <br/>\n     */";
+
+        String expectedValue = "/**\n     * <br> a <b <br>\n     */";
+
+        assertEquals(expectedValue, javadocFixingHandler.fixSelfEnclosingAndEmptyTags(testValue));
+    }
+
     @Test
     public void fixSelfInventedAnnotations_successFlow() {
         String testValue = "/**\n" +
@@ -150,6 +194,36 @@ public class JavadocFixingHandlerTest {
         assertEquals(expectedValue, actualValue);
     }
 
+    @Test
+    public void fixSelfInventedAnnotations_repeatedMark() {
+        String testValue = "/**\n" +
+                "     * @@custom and @@param\n" +
+                "     */";
+
+        String expectedValue = "/**\n" +
+                "     * Custom and @param\n" +
+                "     */";
+
+        String actualValue = javadocFixingHandler.fixSelfInventedAnnotations(testValue);
+
+        assertEquals(expectedValue, actualValue);
+    }
+
+    @Test
+    public void fixSelfInventedAnnotations_joinedWithPreviousWord() {
+        String testValue = "/**\n" +
+                "     * @param@Foo and @@bar@Baz\n" +
+                "     */";
+
+        String expectedValue = "/**\n" +
+                "     * ParamFoo and BarBaz\n" +
+                "     */";
+
+        String actualValue = javadocFixingHandler.fixSelfInventedAnnotations(testValue);
+
+        assertEquals(expectedValue, actualValue);
+    }
+
     @Test
     public void fixReturnStatements_void() {
         String testValue = "/**\n" +
@@ -376,7 +450,7 @@ public class JavadocFixingHandlerTest {
                 "     */";
 
         MethodDescription testMethodDescription = new MethodDescription();
-        testMethodDescription.setParams(Collections.singletonList("Map<String, String> map"));
+        testMethodDescription.setParams(Collections.singletonList(new Param("Map<String, String>", "map")));
 
         String actualValue = javadocFixingHandler.fixParamStatements(testValue, testMethodDescription);
 
@@ -397,7 +471,7 @@ public class JavadocFixingHandlerTest {
                 "     */";
 
         MethodDescription testMethodDescription = new MethodDescription();
-        testMethodDescription.setParams(Collections.singletonList("final Integer integer"));
+        testMethodDescription.setParams(Collections.singletonList(new Param("Integer", "integer", true)));
 
         String actualValue = javadocFixingHandler.fixParamStatements(testValue, testMethodDescription);
 
@@ -420,7 +494,7 @@ public class JavadocFixingHandlerTest {
                 "     */";
 
         MethodDescription testMethodDescription = new MethodDescription();
-        testMethodDescription.setParams(Arrays.asList("Integer integer", "String string", "Class c"));
+        testMethodDescription.setParams(Arrays.asList(new Param("Integer", "integer"), new Param("String", "string"), new Param("Class", "c")));
 
         String actualValue = javadocFixingHandler.fixParamStatements(testValue, testMethodDescription);
 
@@ -441,7 +515,7 @@ public class JavadocFixingHandlerTest {
                 "     */";
 
         MethodDescription testMethodDescription = new MethodDescription();
-        testMethodDescription.setParams(Arrays.asList("String... args", "Integer... ints"));
+        testMethodDescription.setParams(Arrays.asList(new Param("String...", "args"), new Param("Integer...", "ints")));
 
         String actualValue = javadocFixingHandler.fixParamStatements(testValue, testMethodDescription);
 
@@ -465,7 +539,7 @@ public class JavadocFixingHandlerTest {
                 "     */";
 
         MethodDescription testMethodDescription = new MethodDescription();
-        testMethodDescription.setParams(Arrays.asList("Integer integer", "String string", "Class class"));
+        testMethodDescription.setParams(Arrays.asList(new Param("Integer", "integer"), new Param("String", "string"), new Param("Class", "class")));
 
         String actualValue = javadocFixingHandler.fixParamStatements(testValue, testMethodDescription);
 
@@ -487,7 +561,7 @@ public class JavadocFixingHandlerTest {
                 "     */";
 
         MethodDescription testMethodDescription = new MethodDescription();
-        testMethodDescription.setParams(Collections.singletonList("Map<String, String> map"));
+        testMethodDescription.setParams(Collections.singletonList(new Param("Map<String, String>", "map")));
 
         String actualValue = javadocFixingHandler.fixParamStatements(testValue, testMethodDescription);
 
@@ -510,7 +584,7 @@ public class JavadocFixingHandlerTest {
                 "     */";
 
         MethodDescription testMethodDescription = new MethodDescription();
-        testMethodDescription.setParams(Arrays.asList("Object o", "Map<String, String> map"));
+        testMethodDescription.setParams(Arrays.asList(new Param("Object", "o"), new Param("Map<String, String>", "map")));
 
         String actualValue = javadocFixingHandler.fixParamStatements(testValue, testMethodDescription);
 
@@ -531,7 +605,7 @@ public class JavadocFixingHandlerTest {
                 "     */";
 
         MethodDescription testMethodDescription = new MethodDescription();
-        testMethodDescription.setParams(Arrays.asList("Object o", "Map<String, String> map", "List<String> list"));
+        testMethodDescription.setParams(Arrays.asList(new Param("Object", "o"), new Param("Map<String, String>", "map"), new Param("List<String>", "list")));
 
         String actualValue = javadocFixingHandler.fixParamStatements(testValue, testMethodDescription);
 
@@ -550,7 +624,7 @@ public class JavadocFixingHandlerTest {
                 "     */";
 
         MethodDescription testMethodDescription = new MethodDescription();
-        testMethodDescription.setParams(Collections.singletonList("List <String> list"));
+        testMethodDescription.setParams(Collections.singletonList(new Param("List<String>", "list")));
 
         String actualValue = javadocFixingHandler.fixParamStatements(testValue, testMethodDescription);
 
@@ -594,7 +668,7 @@ public class JavadocFixingHandlerTest {
                 "     */";
 
         MethodDescription testMethodDescription = new MethodDescription();
-        testMethodDescription.setParams(Collections.singletonList("Object o"));
+        testMethodDescription.setParams(Collections.singletonList(new Param("Object", "o")));
 
         String actualValue = javadocFixingHandler.fixParamStatements(testValue, testMethodDescription);
 
@@ -618,11 +692,45 @@ public class JavadocFixingHandlerTest {
                 "     */";
 
         EntityDetailDescription testConstructorDescription = new ConstructorDescription();
-        testConstructorDescription.setParams(Arrays.asList("Object o", "Map<String, String> map",
-                "List<Class<?> c, String> list"));
+        testConstructorDescription.setParams(Arrays.asList(new Param("Object", "o"), new Param("Map<String, String>", "map"), new Param("List<Class<?> c, String>", "list")));
 
         String actualValue = javadocFixingHandler.fixParamStatements(testValue, testConstructorDescription);
 
         assertEquals(expectedValue, actualValue);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void computeEdits_onlyChangedParts() {
+        String testValue = "class App {\n" +
+                "    /** a & b */\n" +
+                "    int a;\n" +
+                "    /** Fine */\n" +
+                "    int b;\n" +
+                "    /** c > d */\n" +
+                "    int c;\n" +
+                "}";
+
+        List<TextEdit> expectedValue = Arrays.asList(
+                new TextEdit(22, 1, "and"),
+                new TextEdit(77, 1, "greater than"));
+
+        List<TextEdit> actualValue = javadocFixingHandler.computeEdits(testValue);
+
+        assertEquals(expectedValue, actualValue);
+        assertEquals(javadocFixingHandler.fixJavadocSyntaxProblems(testValue), TextEdit.apply(testValue, actualValue));
+    }
+
+    @Test
+    public void computeEdits_windowsLineBreaks() {
+        String testValue = "/**\n" +
+                "     * Sum\n" +
+                "     */\n" +
+                "    public int sum(int a) {}";
+
+        String expectedValue = javadocFixingHandler.fixJavadocSyntaxProblems(testValue).replace("\n", "\r\n");
+        String windowsTestValue = testValue.replace("\n", "\r\n");
+
+        assertEquals(expectedValue,
+                TextEdit.apply(windowsTestValue, javadocFixingHandler.computeEdits(windowsTestValue)));
+    }
+}
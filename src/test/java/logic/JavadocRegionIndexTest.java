@@ -0,0 +1,130 @@
+package logic;
+
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class JavadocRegionIndexTest {
+
+    private static final String[] FRAGMENTS = {
+            "{@link ", "{@code ", "}", "<code>", "</code>", "<a href=\"x\">", "</a>", "<abbr>", "@see ", "\n     * ",
+            "List<String>", " ", "x", "<", ">"
+    };
+
+    @Test
+    public void inside_successFlow() {
+        String testValue = "/**\n" +
+                "     * {@link List} <code>a</code> <a href=\"mailto:a@b.c\">a</a>\n" +
+                "     * @see List\n" +
+                "     */";
+        JavadocRegionIndex regions = new JavadocRegionIndex(testValue);
+
+        assertTrue(regions.inside(JavadocRegionIndex.Kind.LINK_BLOCK, testValue.indexOf("List")));
+        assertFalse(regions.inside(JavadocRegionIndex.Kind.CODE_BLOCK, testValue.indexOf("List")));
+        assertTrue(regions.inside(JavadocRegionIndex.Kind.CODE_TAG, testValue.indexOf("a</code>")));
+        assertTrue(regions.inside(JavadocRegionIndex.Kind.A_TAG, testValue.indexOf("@b")));
+        assertTrue(regions.inside(JavadocRegionIndex.Kind.SEE_LINE, testValue.lastIndexOf("List")));
+        assertFalse(regions.inside(JavadocRegionIndex.Kind.SEE_LINE, testValue.indexOf("List")));
+    }
+
+    @Test
+    public void inside_sameAsScanningOnRandomInput() {
+        Random random = new Random(7);
+
+        for (int i = 0; i < 20_000; i++) {
+            StringBuilder testValue = new StringBuilder();
+            int fragmentsCount = random.nextInt(15);
+            for (int j = 0; j < fragmentsCount; j++) {
+                testValue.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+            }
+
+            String javadoc = testValue.toString();
+            JavadocRegionIndex regions = new JavadocRegionIndex(javadoc);
+            for (int index = 0; index <= javadoc.length(); index++) {
+                assertEquals(javadoc, referenceUntilNext(javadoc, "@link", "}", index),
+                        regions.inside(JavadocRegionIndex.Kind.LINK_BLOCK, index));
+                assertEquals(javadoc, referenceUntilNext(javadoc, "@code", "}", index),
+                        regions.inside(JavadocRegionIndex.Kind.CODE_BLOCK, index));
+                assertEquals(javadoc, referenceTag(javadoc, "code", index),
+                        regions.inside(JavadocRegionIndex.Kind.CODE_TAG, index));
+                assertEquals(javadoc, referenceTag(javadoc, "a", index),
+                        regions.inside(JavadocRegionIndex.Kind.A_TAG, index));
+                assertEquals(javadoc, referenceUntilNext(javadoc, "@see", "\n", index),
+                        regions.inside(JavadocRegionIndex.Kind.SEE_LINE, index));
+            }
+        }
+    }
+
+    @Test
+    public void replace_sameAsIndexOfChangedText() {
+        Random random = new Random(7);
+
+        for (int i = 0; i < 5_000; i++) {
+            StringBuilder testValue = new StringBuilder();
+            int fragmentsCount = random.nextInt(15);
+            for (int j = 0; j < fragmentsCount; j++) {
+                testValue.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+            }
+
+            JavadocRegionIndex regions = new JavadocRegionIndex(testValue.toString());
+            for (int j = 0; j < 3; j++) {
+                for (JavadocRegionIndex.Kind kind : JavadocRegionIndex.Kind.values()) {
+                    regions.inside(kind, 0);
+                }
+
+                int start = random.nextInt(testValue.length() + 1);
+                int end = start + random.nextInt(testValue.length() - start + 1);
+                String replacement = random.nextBoolean() ? "" : FRAGMENTS[random.nextInt(FRAGMENTS.length)];
+                regions.replace(start, end, replacement);
+                testValue.replace(start, end, replacement);
+            }
+
+            String javadoc = testValue.toString();
+            JavadocRegionIndex expectedRegions = new JavadocRegionIndex(javadoc);
+            for (int index = 0; index <= javadoc.length(); index++) {
+                for (JavadocRegionIndex.Kind kind : JavadocRegionIndex.Kind.values()) {
+                    assertEquals(javadoc + " " + kind, expectedRegions.inside(kind, index),
+                            regions.inside(kind, index));
+                }
+            }
+        }
+    }
+
+    // Scanning implementations the index replaced
+    private static boolean referenceUntilNext(String javadoc, String start, String end, int index) {
+        int indexOfStart = -1;
+
+        while (true) {
+            indexOfStart = javadoc.indexOf(start, indexOfStart + 1);
+            int indexOfEnd = javadoc.indexOf(end, indexOfStart + 1);
+
+            if (indexOfStart < 0 || indexOfEnd < 0) {
+                return false;
+            }
+
+            if (index > indexOfStart && index < indexOfEnd) {
+                return true;
+            }
+        }
+    }
+
+    private static boolean referenceTag(String javadoc, String tag, int index) {
+        Matcher startTagMatcher = Pattern.compile("<" + tag + ".*?>").matcher(javadoc);
+        Matcher endTagMatcher = Pattern.compile("</" + tag + "").matcher(javadoc);
+
+        while (startTagMatcher.find() && endTagMatcher.find()) {
+            if (endTagMatcher.start() > startTagMatcher.start() &&
+                    endTagMatcher.start() > index && startTagMatcher.start() < index) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,97 @@
+package logic;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class JavadocTreeTest {
+
+    @Test
+    public void blockTags_tagInsideStatementOfPreviousOneSkipped() {
+        JavadocTree javadocTree = JavadocTree.parse("/**\n     * @param a @param b\n     * @paramc\n" +
+                "     * @param d - the d\n     */");
+
+        List<JavadocTree.BlockTag> tags = javadocTree.blockTags("param");
+
+        assertEquals(2, tags.size());
+        assertEquals("@param a @param b", tags.get(0).getStatement());
+        assertEquals("@param d - the d", tags.get(1).getStatement());
+    }
+
+    @Test
+    public void removeLine_successFlow() {
+        String testValue = "/**\n" +
+                "     * Text\n" +
+                "     * @param (a) a\n" +
+                "     * @param b\n" +
+                "     */";
+
+        String expectedValue = "/**\n" +
+                "     * Text\n" +
+                "     * @param b - the b\n" +
+                "     */";
+
+        JavadocTree javadocTree = JavadocTree.parse(testValue);
+        List<JavadocTree.BlockTag> tags = javadocTree.blockTags("param");
+        javadocTree.removeLine(tags.get(0));
+        javadocTree.replace(tags.get(1), "@param b - the b");
+
+        assertEquals(expectedValue, javadocTree.toString());
+    }
+
+    @Test
+    public void removeLine_statementOnFirstLineNotRemoved() {
+        String testValue = "/** @param a */";
+        JavadocTree javadocTree = JavadocTree.parse(testValue);
+
+        javadocTree.removeLine(javadocTree.blockTags("param").get(0));
+
+        assertEquals(testValue, javadocTree.toString());
+        assertEquals(0, javadocTree.getModifications());
+    }
+
+    @Test
+    public void replace_offsetsFollowChanges() {
+        JavadocTree javadocTree = JavadocTree.parse("/**\n     * Text\n     * @return value\n     */");
+
+        javadocTree.insert(javadocTree.indexOfTag("return", 0), "@param {@code a}\n     * ");
+        javadocTree.replace(3, 4, " ");
+
+        assertEquals("/** " + "     * Text\n     * @param {@code a}\n     * @return value\n     */",
+                javadocTree.toString());
+        assertEquals(23, javadocTree.indexOfTag("param", 0));
+        assertEquals(47, javadocTree.indexOfTag("return", 0));
+        assertEquals(javadocTree.toString().indexOf("*/"), javadocTree.commentEnd());
+        assertEquals(-1, javadocTree.firstTagOutsideInlineTags());
+    }
+
+    @Test
+    public void firstTagOutsideInlineTags_bracketsWithoutTags() {
+        String testValue = "/**\n     * Text {a} and {b}\n     * @param a\n     */";
+
+        assertEquals(testValue.indexOf('@'), JavadocTree.parse(testValue).firstTagOutsideInlineTags());
+    }
+
+    @Test
+    public void commentEnd_foundAgainAcrossChangedBorders() {
+        JavadocTree javadocTree = JavadocTree.parse("/** a b */");
+
+        javadocTree.replace(8, 10, "");
+        assertEquals(-1, javadocTree.commentEnd());
+
+        javadocTree.insert(7, "*/ ");
+        assertEquals(7, javadocTree.commentEnd());
+    }
+
+    @Test
+    public void hasTag_successFlow() {
+        JavadocTree javadocTree = JavadocTree.parse("/**\n     * Text\n     * @returns value\n     */");
+
+        assertTrue(javadocTree.hasTag("return"));
+        assertFalse(javadocTree.hasTag("param"));
+    }
+}
@@ -0,0 +1,21 @@
+package logic;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class LiteralReplacerTest {
+
+    @Test
+    public void replaceFirst_specialCharsTakenLiterally() {
+        String testValue = "a [x]^$1\\ b [x]^$1\\";
+        String expectedValue = "a $2 b [x]^$1\\";
+
+        assertEquals(expectedValue, LiteralReplacer.replaceFirst(testValue, "[x]^$1\\", "$2"));
+    }
+
+    @Test
+    public void replaceAll_successFlow() {
+        assertEquals("&lt;a&gt;&gt;", LiteralReplacer.replaceAll("&lt;a>>", ">", "&gt;"));
+    }
+}
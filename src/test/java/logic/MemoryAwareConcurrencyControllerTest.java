@@ -0,0 +1,87 @@
+package logic;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.DoubleSupplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class MemoryAwareConcurrencyControllerTest {
+
+    @Test
+    public void currentLimit_lowHeapUsage() {
+        MemoryAwareConcurrencyController controller = new MemoryAwareConcurrencyController(8, () -> 0.3);
+
+        assertEquals(8, controller.currentLimit());
+    }
+
+    @Test
+    public void currentLimit_highHeapUsage() {
+        MemoryAwareConcurrencyController controller = new MemoryAwareConcurrencyController(8, () -> 0.95);
+
+        assertEquals(1, controller.currentLimit());
+    }
+
+    @Test
+    public void currentLimit_reducedGraduallyWithHeapUsage() {
+        AtomicReference<Double> heapUsage = new AtomicReference<>(0.65);
+        MemoryAwareConcurrencyController controller = new MemoryAwareConcurrencyController(8, heapUsage::get);
+
+        int limitOnModeratePressure = controller.currentLimit();
+        heapUsage.set(0.8);
+        int limitOnStrongPressure = controller.currentLimit();
+
+        assertTrue(limitOnModeratePressure < 8);
+        assertTrue(limitOnStrongPressure < limitOnModeratePressure);
+        assertTrue(limitOnStrongPressure >= 1);
+    }
+
+    @Test
+    public void acquire_waitsUntilHeapPressureDrops() throws InterruptedException {
+        AtomicReference<Double> heapUsage = new AtomicReference<>(0.95);
+        MemoryAwareConcurrencyController controller = new MemoryAwareConcurrencyController(2, heapUsage::get);
+        AtomicBoolean acquired = new AtomicBoolean();
+
+        controller.acquire();
+        Thread thread = new Thread(() -> {
+            try {
+                controller.acquire();
+                acquired.set(true);
+            } catch (InterruptedException ignored) {
+            }
+        });
+        thread.start();
+
+        thread.join(200);
+        assertFalse(acquired.get());
+
+        heapUsage.set(0.1);
+        thread.join(2000);
+        assertTrue(acquired.get());
+    }
+
+    @Test
+    public void heapUsageAfterCollection_garbageNotCounted() {
+        DoubleSupplier heapUsage = MemoryAwareConcurrencyController.heapUsageAfterCollection();
+        long maxHeap = Runtime.getRuntime().maxMemory();
+        byte[][] lastChunks = new byte[4][];
+        double maxUsage = 0;
+
+        System.gc();
+        double usageAfterCollection = heapUsage.getAsDouble();
+        // Twice the heap is allocated, every chunk but the last few is garbage
+        for (long allocated = 0; allocated < 2 * maxHeap; allocated += 1 << 20) {
+            lastChunks[(int) (allocated >> 20) % lastChunks.length] = new byte[1 << 20];
+            maxUsage = Math.max(maxUsage, heapUsage.getAsDouble());
+        }
+
+        assertTrue(usageAfterCollection >= 0 && usageAfterCollection < 1);
+        // Only the last chunks and what survived with them may be counted
+        assertTrue((maxUsage - usageAfterCollection) * maxHeap < 32 << 20);
+        assertEquals(1 << 20, lastChunks[0].length);
+    }
+}
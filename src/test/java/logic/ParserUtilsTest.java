@@ -1,11 +1,14 @@
 package logic;
 
+import entity.Param;
 import org.junit.Test;
 
 import java.util.Arrays;
 import java.util.List;
 
 import static logic.TestUtils.assertListEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 
 public class ParserUtilsTest {
 
@@ -29,4 +32,37 @@ public class ParserUtilsTest {
 
         assertListEquals(expected, actual);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void toParam() {
+        assertEquals(new Param("Map<String, List<Integer>>", "map"), ParserUtils.toParam("Map<String, List<Integer>> map"));
+    }
+
+    @Test
+    public void toParam_final() {
+        assertEquals(new Param("Integer", "integer", true), ParserUtils.toParam("final Integer integer"));
+    }
+
+    @Test
+    public void toParam_varargs() {
+        Param param = ParserUtils.toParam("String... args");
+
+        assertEquals(new Param("String...", "args"), param);
+        assertEquals("String", param.getElementType());
+    }
+
+    @Test
+    public void toParam_typeSplitBySpace() {
+        assertEquals(new Param("List<String>", "list"), ParserUtils.toParam("List <String> list"));
+    }
+
+    @Test
+    public void toParam_typeGluedToName() {
+        assertEquals(new Param("List<LanguageRange>", "priorityList"), ParserUtils.toParam("List<LanguageRange>priorityList"));
+    }
+
+    @Test
+    public void toParam_noName() {
+        assertNull(ParserUtils.toParam("Map<Integer, List<String>>"));
+    }
+}
@@ -0,0 +1,88 @@
+package logic;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class SourceLexerTest {
+
+    @Test
+    public void indexJavadocs_successFlow() {
+        String testValue = "/**\n" +
+                " * Class doc\n" +
+                " */\n" +
+                "public class App {\n" +
+                "    /** Field doc */\n" +
+                "    String field;\n" +
+                "}\n";
+
+        List<SourceLexer.JavadocBlock> javadocs = SourceLexer.indexJavadocs(testValue);
+
+        assertEquals(2, javadocs.size());
+        assertJavadocBlock(testValue, javadocs.get(0), "/**\n * Class doc\n */", "\npublic class App ");
+        assertJavadocBlock(testValue, javadocs.get(1), "/** Field doc */", "\n    String field");
+    }
+
+    @Test
+    public void indexJavadocs_stringsAndCommentsSkipped() {
+        String testValue = "String s = \"/** not javadoc */\";\n" +
+                "char c = '\"';\n" +
+                "// /** not javadoc */\n" +
+                "/* /** not javadoc */\n" +
+                "/**/\n" +
+                "/** Method doc */\n" +
+                "@Annotation(\"a;b{\") // c;\n" +
+                "void m() {}";
+
+        List<SourceLexer.JavadocBlock> javadocs = SourceLexer.indexJavadocs(testValue);
+
+        assertEquals(1, javadocs.size());
+        assertJavadocBlock(testValue, javadocs.get(0), "/** Method doc */",
+                "\n@Annotation(\"a;b{\") // c;\nvoid m() ");
+    }
+
+    @Test
+    public void indexJavadocs_textBlockSkipped() {
+        String testValue = "String s = \"\"\"\n" +
+                "    /** not javadoc \\\"\"\" */\n" +
+                "    \"\"\";\n" +
+                "/** Field doc */\n" +
+                "int i;";
+
+        List<SourceLexer.JavadocBlock> javadocs = SourceLexer.indexJavadocs(testValue);
+
+        assertEquals(1, javadocs.size());
+        assertJavadocBlock(testValue, javadocs.get(0), "/** Field doc */", "\nint i");
+    }
+
+    @Test
+    public void indexJavadocs_consecutiveJavadocsShareDeclaration() {
+        String testValue = "/** First */\n" +
+                "/** Second */\n" +
+                "int i;";
+
+        List<SourceLexer.JavadocBlock> javadocs = SourceLexer.indexJavadocs(testValue);
+
+        assertEquals(2, javadocs.size());
+        assertEquals(javadocs.get(0).getDeclarationEnd(), javadocs.get(1).getDeclarationEnd());
+    }
+
+    @Test
+    public void indexJavadocs_noDeclarationAndUnterminatedJavadoc() {
+        String testValue = "/** Dangling */\n" +
+                "/** Unterminated";
+
+        List<SourceLexer.JavadocBlock> javadocs = SourceLexer.indexJavadocs(testValue);
+
+        assertEquals(1, javadocs.size());
+        assertEquals(-1, javadocs.get(0).getDeclarationEnd());
+    }
+
+    private void assertJavadocBlock(String source, SourceLexer.JavadocBlock javadocBlock,
+                                    String expectedJavadoc, String expectedDeclaration) {
+        assertEquals(expectedJavadoc, source.substring(javadocBlock.getStart(), javadocBlock.getEnd()));
+        assertEquals(expectedDeclaration, source.substring(javadocBlock.getEnd(), javadocBlock.getDeclarationEnd()));
+    }
+}
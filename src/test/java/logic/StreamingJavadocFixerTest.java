@@ -0,0 +1,144 @@
+package logic;
+
+import fileHandler.UndecodableFileException;
+import metrics.FileReport;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class StreamingJavadocFixerTest {
+
+    private static final String SOURCE = "package p;\n" +
+            "\n" +
+            "/**\n" +
+            " * Class a & b\n" +
+            " */\n" +
+            "public class App {\n" +
+            "    String s = \"/** not javadoc */ {\";\n" +
+            "\n" +
+            "    /** First doc */\n" +
+            "    // comment;\n" +
+            "    /**\n" +
+            "     * Sum of a > b\n" +
+            "     * @param c the c\n" +
+            "     */\n" +
+            "    @Annotation(\"a;b{\")\n" +
+            "    public int sum(int a, int b) {\n" +
+            "        return a + b;\n" +
+            "    }\n" +
+            "\n" +
+            "    /** Trailing doc with List<String> */\n";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private JavadocFixingHandler javadocFixingHandler;
+
+    @Before
+    public void setUp() {
+        javadocFixingHandler = new JavadocFixingHandler();
+    }
+
+    @Test
+    public void fix_sameAsWholeFileForAnyBufferSize() throws IOException {
+        String expectedValue = javadocFixingHandler.fixJavadocSyntaxProblems(SOURCE);
+
+        for (int bufferSize = SourceLexer.MAX_LOOKAHEAD + 1; bufferSize <= SOURCE.length() + 1; bufferSize++) {
+            StreamingJavadocFixer fixer = new StreamingJavadocFixer(javadocFixingHandler,
+                    StreamingJavadocFixer.DEFAULT_MAX_LOOKAHEAD, bufferSize);
+
+            assertEquals("Buffer size " + bufferSize, expectedValue, fix(fixer, SOURCE));
+        }
+    }
+
+    @Test
+    public void fix_windowsLineBreaksRestored() throws IOException {
+        String expectedValue = javadocFixingHandler.fixJavadocSyntaxProblems(SOURCE).replace("\n", "\r\n");
+
+        assertEquals(expectedValue, fix(new StreamingJavadocFixer(javadocFixingHandler), SOURCE.replace("\n", "\r\n")));
+    }
+
+    @Test
+    public void fix_declarationBeyondLookaheadNotDescribed() throws IOException {
+        String testValue = "/**\n" +
+                " * @param c the c\n" +
+                " */\n" +
+                "// long comment\n" +
+                "void m(int a) {}";
+
+        StreamingJavadocFixer fixer = new StreamingJavadocFixer(javadocFixingHandler, 8, 4);
+
+        assertEquals(testValue, fix(fixer, testValue));
+        assertEquals(javadocFixingHandler.fixJavadocSyntaxProblems(testValue),
+                fix(new StreamingJavadocFixer(javadocFixingHandler, 64, 4), testValue));
+    }
+
+    @Test
+    public void fix_withoutOutputOnlyDetectsFixes() throws IOException {
+        StreamingJavadocFixer fixer = new StreamingJavadocFixer(javadocFixingHandler);
+
+        assertTrue(fixer.fix(new StringReader(SOURCE), null));
+        assertFalse(fixer.fix(new StringReader("/** Fine */\nclass App {}"), null));
+    }
+
+    @Test
+    public void fix_fileRewrittenOnlyWhenFixed() throws IOException {
+        File fixedFile = writeFile("Fixed.java", SOURCE);
+        File untouchedFile = writeFile("Untouched.java", "/** Fine */\nclass App {}");
+        long untouchedFileModified = untouchedFile.lastModified();
+        StreamingJavadocFixer fixer = new StreamingJavadocFixer(javadocFixingHandler);
+
+        assertTrue(fixer.fix(fixedFile));
+        assertFalse(fixer.fix(untouchedFile));
+        assertEquals(javadocFixingHandler.fixJavadocSyntaxProblems(SOURCE),
+                new String(Files.readAllBytes(fixedFile.toPath()), StandardCharsets.UTF_8));
+        assertEquals(untouchedFileModified, untouchedFile.lastModified());
+    }
+
+    @Test
+    public void fix_reportSameAsWholeFile() throws IOException {
+        File wholeFile = writeFile("Whole.java", SOURCE);
+        File streamedFile = writeFile("Streamed.java", SOURCE);
+        FileReport wholeReport = new FileReport(wholeFile);
+        FileReport streamedReport = new FileReport(streamedFile);
+
+        assertTrue(javadocFixingHandler.fix(wholeFile, wholeReport));
+        assertTrue(new StreamingJavadocFixer(javadocFixingHandler).fix(streamedFile, streamedReport));
+
+        assertEquals(4, wholeReport.getJavadocs());
+        assertEquals(wholeReport.getJavadocs(), streamedReport.getJavadocs());
+        assertEquals(wholeReport.getFixesByRule(), streamedReport.getFixesByRule());
+    }
+
+    @Test(expected = UndecodableFileException.class)
+    public void fix_invalidEncoding() throws IOException {
+        File file = temporaryFolder.newFile("Invalid.java");
+        Files.write(file.toPath(), new byte[]{'/', '*', '*', (byte) 0xC3, '*', '/'});
+
+        new StreamingJavadocFixer(javadocFixingHandler).fix(file);
+    }
+
+    private String fix(StreamingJavadocFixer fixer, String source) throws IOException {
+        StringWriter output = new StringWriter();
+        fixer.fix(new StringReader(source), output);
+        return output.toString();
+    }
+
+    private File writeFile(String name, String content) throws IOException {
+        File file = temporaryFolder.newFile(name);
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
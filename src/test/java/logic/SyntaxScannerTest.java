@@ -0,0 +1,118 @@
+package logic;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+public class SyntaxScannerTest {
+
+    private static final String[] FRAGMENTS = {
+            " ", " ", "  ", "&", "&&", "<", ">", "=", "-", "--", "#", ";", "a", "b", "\n     * ",
+            "&lt;", "&gt;", "&amp;", "&quot;", "&apos;", "amp;", "lt;", "&#", "gt", "ap", "<p>", "</p>", "/>"
+    };
+
+    private final SyntaxScanner scanner = new SyntaxScanner(true, true, true);
+
+    @Test
+    public void fix_successFlow() {
+        String testValue = "/**\n" +
+                "     * &lt;element> a & b, x > y,   z <= t -> r &amp; &#38;\n" +
+                "     */";
+
+        String expectedValue = "/**\n" +
+                "     * &lt;element&gt; a and b, x greater than y,   z equal or less than t --- r &amp; &#38;\n" +
+                "     */";
+
+        assertEquals(expectedValue, scanner.fix(testValue));
+    }
+
+    @Test
+    public void fix_earlierRewriteCreatesLaterMatch() {
+        assertEquals("a greater than equal or greater than b", scanner.fix("a > >= b"));
+    }
+
+    @Test
+    public void fix_ampersandBeforeEntityBacktracks() {
+        assertEquals(" and  #", scanner.fix(" &  #"));
+        assertEquals("  and  #", scanner.fix(" & #"));
+        assertEquals(" and &amp;", scanner.fix("&&&amp;"));
+    }
+
+    @Test
+    public void fix_hitsCountedByRule() {
+        Map<String, Integer> hitsByRule = new HashMap<>();
+
+        assertEquals("a --- b greater than c &amp; d", scanner.fix("a -> b > c &amp; d", hitsByRule));
+
+        Map<String, Integer> expectedValue = new HashMap<>();
+        expectedValue.put(SyntaxScanner.ANGLE_BRACKETS_RULE, 2);
+        expectedValue.put(SyntaxScanner.AMPERSANDS_RULE, 0);
+        assertEquals(expectedValue, hitsByRule);
+    }
+
+    @Test
+    public void fix_nothingToFix() {
+        String testValue = "/**\n     * Plain text\n     */";
+
+        assertSame(testValue, scanner.fix(testValue));
+        assertFalse(scanner.mayApply(testValue));
+    }
+
+    @Test
+    public void fix_sameAsRegexRulesOnRandomInput() {
+        Random random = new Random(42);
+
+        for (int i = 0; i < 200_000; i++) {
+            StringBuilder testValue = new StringBuilder();
+            int fragmentsCount = random.nextInt(12);
+            for (int j = 0; j < fragmentsCount; j++) {
+                testValue.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+            }
+
+            String javadoc = testValue.toString();
+            assertEquals(javadoc, referenceChain(javadoc), scanner.fix(javadoc));
+            assertEquals(javadoc, referenceAmpersands(javadoc), new SyntaxScanner(false, false, true).fix(javadoc));
+            assertEquals(javadoc, referenceAngleBrackets(javadoc),
+                    new SyntaxScanner(false, true, false).fix(javadoc));
+            assertEquals(javadoc, referenceIncompleteTags(javadoc),
+                    new SyntaxScanner(true, false, false).fix(javadoc));
+        }
+    }
+
+    // The regex based rules replaced by the scanner
+    private static String referenceChain(String javadoc) {
+        return referenceAmpersands(referenceAngleBrackets(referenceIncompleteTags(javadoc)));
+    }
+
+    private static String referenceIncompleteTags(String javadoc) {
+        Matcher matcher = Pattern.compile("&lt;[^<]*?>").matcher(javadoc);
+
+        while (matcher.find()) {
+            String notCorrectlyClosedTag = matcher.group();
+            String fixedTag = notCorrectlyClosedTag.replace(">", "&gt;");
+            javadoc = LiteralReplacer.replaceFirst(javadoc, notCorrectlyClosedTag, fixedTag);
+        }
+
+        return javadoc;
+    }
+
+    private static String referenceAngleBrackets(String javadoc) {
+        javadoc = javadoc.replaceAll("[ ]+>[ ]+", " greater than ");
+        javadoc = javadoc.replaceAll("[ ]+<[ ]+", " less than ");
+        javadoc = javadoc.replaceAll("[ ]+>=[ ]+", " equal or greater than ");
+        javadoc = javadoc.replaceAll("[ ]+<=[ ]+", " equal or less than ");
+        return javadoc.replaceAll("[-]+>", "---");
+    }
+
+    private static String referenceAmpersands(String javadoc) {
+        return javadoc.replaceAll("(&+|[ ]+&+[ ]+)(?!(?:apos|quot|[gl]t|amp);|#)", " and ");
+    }
+}
@@ -0,0 +1,160 @@
+package metrics;
+
+import config.RunConfiguration;
+import logic.FilesFixingExecutor;
+import logic.JavadocFixingHandler;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MetricsRegistryTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void timer_sameInstanceForSameName() {
+        MetricsRegistry metrics = new MetricsRegistry();
+
+        assertTrue(metrics.timer(MetricsRegistry.RULE, "a") == metrics.timer(MetricsRegistry.RULE, "a"));
+        assertTrue(metrics.timer(MetricsRegistry.RULE, "a") != metrics.timer(MetricsRegistry.STAGE, "a"));
+    }
+
+    @Test
+    public void percentileNanos_withinBucketPrecision() {
+        Timer timer = new MetricsRegistry().timer(MetricsRegistry.RULE, "a");
+        for (int i = 1; i <= 1000; i++) {
+            timer.record(i * 1000L, i % 4 == 0);
+        }
+
+        assertEquals(1000, timer.getInvocations());
+        assertEquals(250, timer.getModifications());
+        assertEquals(500_500_000L, timer.getTotalNanos());
+        assertInRange(500_000, timer.percentileNanos(50));
+        assertInRange(990_000, timer.percentileNanos(99));
+        assertInRange(1_000_000, timer.percentileNanos(100));
+    }
+
+    @Test
+    public void percentileNanos_nothingRecorded() {
+        assertEquals(0, new MetricsRegistry().timer(MetricsRegistry.RULE, "a").percentileNanos(50));
+    }
+
+    @Test
+    public void bucketOf_upperBoundsCoverValues() {
+        for (long value : new long[]{0, 1, 15, 16, 17, 31, 32, 1000, 123_456_789, Long.MAX_VALUE}) {
+            int bucket = Timer.bucketOf(value);
+            assertTrue(value <= Timer.upperBoundOf(bucket));
+            assertTrue(bucket == 0 || value > Timer.upperBoundOf(bucket - 1));
+        }
+    }
+
+    @Test
+    public void toPrometheusText_successFlow() {
+        MetricsRegistry metrics = new MetricsRegistry();
+        metrics.timer(MetricsRegistry.RULE, "fixAmpersands").record(2000, true);
+
+        String expectedValue = "# HELP javadoc_fixing_tool_rule_duration_seconds Duration of rule invocations\n" +
+                "# TYPE javadoc_fixing_tool_rule_duration_seconds summary\n" +
+                "javadoc_fixing_tool_rule_duration_seconds{rule=\"fixAmpersands\",quantile=\"0.5\"} 2.047E-6\n" +
+                "javadoc_fixing_tool_rule_duration_seconds{rule=\"fixAmpersands\",quantile=\"0.9\"} 2.047E-6\n" +
+                "javadoc_fixing_tool_rule_duration_seconds{rule=\"fixAmpersands\",quantile=\"0.99\"} 2.047E-6\n" +
+                "javadoc_fixing_tool_rule_duration_seconds{rule=\"fixAmpersands\",quantile=\"1.0\"} 2.047E-6\n" +
+                "javadoc_fixing_tool_rule_duration_seconds_sum{rule=\"fixAmpersands\"} 2.0E-6\n" +
+                "javadoc_fixing_tool_rule_duration_seconds_count{rule=\"fixAmpersands\"} 1\n" +
+                "# HELP javadoc_fixing_tool_rule_modifications_total Number of rule invocations which changed the content\n" +
+                "# TYPE javadoc_fixing_tool_rule_modifications_total counter\n" +
+                "javadoc_fixing_tool_rule_modifications_total{rule=\"fixAmpersands\"} 1\n";
+
+        assertEquals(expectedValue, metrics.toPrometheusText());
+    }
+
+    @Test
+    public void toPrometheusText_timedByOtherTimer() {
+        MetricsRegistry metrics = new MetricsRegistry();
+        metrics.timer(MetricsRegistry.RULE, "fixAmpersands").count(true, "scan");
+
+        String expectedValue = "# HELP javadoc_fixing_tool_rule_duration_seconds Duration of rule invocations\n" +
+                "# TYPE javadoc_fixing_tool_rule_duration_seconds summary\n" +
+                "# rule=\"fixAmpersands\" is timed as a part of rule=\"scan\"\n" +
+                "# HELP javadoc_fixing_tool_rule_modifications_total Number of rule invocations which changed the content\n" +
+                "# TYPE javadoc_fixing_tool_rule_modifications_total counter\n" +
+                "javadoc_fixing_tool_rule_modifications_total{rule=\"fixAmpersands\"} 1\n";
+
+        assertEquals(expectedValue, metrics.toPrometheusText());
+    }
+
+    @Test
+    public void toJson_timedByOtherTimer() {
+        MetricsRegistry metrics = new MetricsRegistry();
+        metrics.timer(MetricsRegistry.RULE, "fixAmpersands").count(true, "scan");
+        metrics.timer(MetricsRegistry.RULE, "fixAmpersands").count(false, "scan");
+
+        String expectedValue = "{\n" +
+                "  \"rule\": {\n" +
+                "    \"fixAmpersands\": {\"invocations\": 2, \"modifications\": 1, \"timedBy\": \"scan\"}\n" +
+                "  }\n" +
+                "}\n";
+
+        assertEquals(expectedValue, metrics.toJson());
+    }
+
+    @Test
+    public void toJson_successFlow() {
+        MetricsRegistry metrics = new MetricsRegistry();
+        metrics.timer(MetricsRegistry.STAGE, "read").record(10, false);
+        metrics.timer(MetricsRegistry.RULE, "fixAmpersands").record(2000, true);
+
+        String expectedValue = "{\n" +
+                "  \"rule\": {\n" +
+                "    \"fixAmpersands\": {\"invocations\": 1, \"modifications\": 1, \"totalNanos\": 2000, " +
+                "\"p50Nanos\": 2047, \"p90Nanos\": 2047, \"p99Nanos\": 2047, \"maxNanos\": 2047}\n" +
+                "  },\n" +
+                "  \"stage\": {\n" +
+                "    \"read\": {\"invocations\": 1, \"modifications\": 0, \"totalNanos\": 10, " +
+                "\"p50Nanos\": 10, \"p90Nanos\": 10, \"p99Nanos\": 10, \"maxNanos\": 10}\n" +
+                "  }\n" +
+                "}\n";
+
+        assertEquals(expectedValue, metrics.toJson());
+    }
+
+    @Test
+    public void export_rulesAndStagesRecordedDuringFixing() throws IOException {
+        File sourceFile = temporaryFolder.newFile("A.java");
+        Files.write(sourceFile.toPath(), ("/**\n * a & b\n */\npublic class A {\n}\n").getBytes(StandardCharsets.UTF_8));
+        MetricsRegistry metrics = new MetricsRegistry();
+        RunConfiguration configuration = new RunConfiguration();
+        configuration.setWorkersCount(1);
+
+        new FilesFixingExecutor(configuration, new JavadocFixingHandler(metrics), null, null)
+                .fixFiles(Stream.of(sourceFile), processed -> {
+                });
+        File metricsDirectory = new File(temporaryFolder.getRoot(), "metrics");
+        metrics.export(metricsDirectory);
+
+        assertEquals(1, metrics.timer(MetricsRegistry.RULE, "fixIncompleteTagsAngleBracketsAndAmpersands")
+                .getModifications());
+        assertEquals(1, metrics.timer(MetricsRegistry.RULE, "fixAmpersands").getModifications());
+        assertEquals("fixIncompleteTagsAngleBracketsAndAmpersands",
+                metrics.timer(MetricsRegistry.RULE, "fixAmpersands").getTimedBy());
+        assertEquals(0, metrics.timer(MetricsRegistry.RULE, "fixBadUseOfAngleBrackets").getInvocations());
+        assertEquals(0, metrics.timer(MetricsRegistry.RULE, "fixGenerics").getModifications());
+        assertEquals(1, metrics.timer(MetricsRegistry.STAGE, "write").getInvocations());
+        assertTrue(new File(metricsDirectory, MetricsRegistry.JSON_FILE_NAME).isFile());
+        assertTrue(new File(metricsDirectory, MetricsRegistry.PROMETHEUS_FILE_NAME).isFile());
+    }
+
+    private static void assertInRange(long expected, long actual) {
+        assertTrue(actual + " expected to be near " + expected, actual >= expected && actual <= expected * 1.125);
+    }
+}
@@ -0,0 +1,67 @@
+package metrics;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+
+public class RunReportWriterTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void write_lineForEveryReportFromEveryThread() throws IOException, InterruptedException {
+        File reportFile = temporaryFolder.newFile("report.jsonl");
+        List<Thread> threads = new ArrayList<>();
+
+        try (RunReportWriter reportWriter = new RunReportWriter(reportFile)) {
+            for (int t = 0; t < 4; t++) {
+                int threadIndex = t;
+                threads.add(new Thread(() -> {
+                    for (int i = 0; i < 1000; i++) {
+                        reportWriter.write(new FileReport(new File("App" + threadIndex + "_" + i + ".java")));
+                    }
+                }));
+            }
+            for (Thread thread : threads) {
+                thread.start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        }
+
+        Set<String> lines = new HashSet<>(Files.readAllLines(reportFile.toPath(), StandardCharsets.UTF_8));
+        assertEquals(4000, lines.size());
+    }
+
+    @Test
+    public void toJson_valuesEscaped() {
+        FileReport report = new FileReport(new File("a\"b\\c\nd.java"));
+        report.setStatus(FileReport.Status.TIMED_OUT);
+        report.addJavadocs(2);
+        report.addFix("fixB");
+        report.addFix("fixA");
+        report.addFix("fixB");
+
+        assertEquals("{\"path\": \"a\\\"b\\\\c\\u000ad.java\", \"status\": \"timed_out\", \"bytesIn\": 0, "
+                + "\"bytesOut\": 0, \"javadocs\": 2, \"fixes\": {\"fixA\": 1, \"fixB\": 2}, \"readNanos\": 0, "
+                + "\"fixNanos\": 0, \"writeNanos\": 0}", report.toJson());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_notWritableFile() throws IOException {
+        new RunReportWriter(temporaryFolder.newFolder("report"));
+    }
+}